@@ -0,0 +1,54 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+
+/**
+ * TCP proxy that delays every chunk the database sends back, to stand in for
+ * network and query latency when load testing against a local Postgres.
+ *
+ * <pre>
+ * java loadtest/DelayProxy.java LISTEN_PORT POSTGRES_PORT DELAY_MS
+ * </pre>
+ */
+public class DelayProxy {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 3) {
+            System.err.println("usage: DelayProxy LISTEN_PORT POSTGRES_PORT DELAY_MS");
+            System.exit(2);
+        }
+        int listenPort = Integer.parseInt(args[0]);
+        int targetPort = Integer.parseInt(args[1]);
+        long delayMs = Long.parseLong(args[2]);
+
+        try (ServerSocket server = new ServerSocket(listenPort)) {
+            while (true) {
+                Socket client = server.accept();
+                Socket database = new Socket("localhost", targetPort);
+                client.setTcpNoDelay(true);
+                database.setTcpNoDelay(true);
+                Thread.ofVirtual().start(() -> pipe(client, database, 0));
+                Thread.ofVirtual().start(() -> pipe(database, client, delayMs));
+            }
+        }
+    }
+
+    private static void pipe(Socket from, Socket to, long delayMs) {
+        byte[] buffer = new byte[65536];
+        try (from; to) {
+            InputStream in = from.getInputStream();
+            OutputStream out = to.getOutputStream();
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                if (delayMs > 0) {
+                    Thread.sleep(delayMs);
+                }
+                out.write(buffer, 0, read);
+                out.flush();
+            }
+        } catch (Exception e) {
+            // Either side hung up; closing both ends the other direction too
+        }
+    }
+}
@@ -0,0 +1,94 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-loop load generator: each client sends its next request as soon as the
+ * previous one returns. Clients are spread round robin over the given paths,
+ * and throughput, errors and latency are reported per path.
+ *
+ * <pre>
+ * java loadtest/LoadTest.java BASE_URL TOKEN CLIENTS SECONDS PATH [PATH...]
+ * </pre>
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("usage: LoadTest BASE_URL TOKEN CLIENTS SECONDS PATH [PATH...]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String token = args[1];
+        int clients = Integer.parseInt(args[2]);
+        int seconds = Integer.parseInt(args[3]);
+        List<PathStats> paths = Arrays.stream(args, 4, args.length).map(PathStats::new).toList();
+
+        HttpClient http = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            PathStats path = paths.get(i % paths.size());
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path.path))
+                    .header("Authorization", "Bearer " + token)
+                    .timeout(Duration.ofSeconds(120))
+                    .build();
+            threads.add(Thread.ofVirtual().start(() -> {
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = http.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (status == 200) {
+                            path.latencies.add(System.nanoTime() - start);
+                        } else {
+                            path.errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        path.errors.incrementAndGet();
+                    }
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        for (PathStats path : paths) {
+            List<Long> latencies = new ArrayList<>(path.latencies);
+            Collections.sort(latencies);
+            int ok = latencies.size();
+            System.out.printf("%-40s ok=%6d (%6.1f/s) errors=%d p50=%6.0fms p99=%6.0fms%n",
+                    path.path, ok, ok / (double) seconds, path.errors.get(),
+                    percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private static double percentile(List<Long> sorted, double fraction) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) (sorted.size() * fraction)) / 1e6;
+    }
+
+    private static final class PathStats {
+
+        final String path;
+        final ConcurrentLinkedQueue<Long> latencies = new ConcurrentLinkedQueue<>();
+        final AtomicLong errors = new AtomicLong();
+
+        PathStats(String path) {
+            this.path = path;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+#!/bin/bash
+
+# Load test used for the thread-mode comparison in DEPLOYMENT.md (section 13).
+#
+# Logs in, warms up with 50 clients for 10 s, then runs CLIENTS clients for
+# SECONDS against the given paths (clients are spread round robin over them).
+#
+#   loadtest/run.sh [CLIENTS] [SECONDS] [PATH...]
+#
+# Defaults: 400 clients, 30 s, half application list and half cached detail.
+# Point the application at loadtest/DelayProxy.java to add database latency.
+
+BASE_URL="${BASE_URL:-http://localhost:8081/api/admin}"
+USERNAME="${LOADTEST_USERNAME:-admin}"
+PASSWORD="${LOADTEST_PASSWORD:-admin123}"
+CLIENTS="${1:-400}"
+SECONDS_TO_RUN="${2:-30}"
+shift 2 2>/dev/null
+PATHS=("$@")
+if [ ${#PATHS[@]} -eq 0 ]; then
+    PATHS=("/applications?page=0&size=20" "/applications/${DETAIL_ID:-exp-10}")
+fi
+
+DIR="$(cd "$(dirname "$0")" && pwd)"
+
+TOKEN=$(curl -s -X POST "$BASE_URL/auth/login" -H 'Content-Type: application/json' \
+    -d "{\"username\":\"$USERNAME\",\"password\":\"$PASSWORD\"}" | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+    echo "Login to $BASE_URL failed"
+    exit 1
+fi
+
+echo "Warming up..."
+java "$DIR/LoadTest.java" "$BASE_URL" "$TOKEN" 50 10 "${PATHS[@]}" > /dev/null
+
+echo "Running $CLIENTS clients for $SECONDS_TO_RUN s"
+java "$DIR/LoadTest.java" "$BASE_URL" "$TOKEN" "$CLIENTS" "$SECONDS_TO_RUN" "${PATHS[@]}"
@@ -0,0 +1,34 @@
+package com.onboarding.admin.benchmark;
+
+import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic KYC customers shared by the benchmarks of one trial, in the sizes
+ * given by {@code -p customers=...}.
+ */
+@State(Scope.Benchmark)
+public class CustomerDataset {
+    
+    @Param({ "10000", "100000", "1000000" })
+    public int customers;
+    
+    public List<Customer> entities;
+    public List<CustomerSummary> summaries;
+    public Map<String, ApplicationReview> reviews;
+    
+    @Setup
+    public void generate() {
+        entities = SyntheticData.customers(customers);
+        summaries = SyntheticData.summaries(entities);
+        reviews = SyntheticData.reviews(entities);
+    }
+}
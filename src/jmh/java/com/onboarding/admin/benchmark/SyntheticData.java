@@ -0,0 +1,222 @@
+package com.onboarding.admin.benchmark;
+
+import com.onboarding.admin.entity.AdminUser;
+import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.Permission;
+import com.onboarding.admin.entity.Profile;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.EntityType;
+import com.onboarding.admin.entity.kyc.PersonalInfo;
+import com.onboarding.admin.repository.kyc.CustomerSearchFields;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Deterministic customers, reviews and admin users for the benchmarks. The
+ * same seed and size always produce the same data, so runs can be compared.
+ */
+public final class SyntheticData {
+    
+    public static final Instant NOW = Instant.parse("2025-06-30T12:00:00Z");
+    
+    // Creation times are spread over the year before NOW
+    private static final long CREATED_SPAN_SECONDS = Duration.ofDays(365).toSeconds();
+    
+    private static final String[] FIRST_NAMES = { "Mohammed", "Abdullah", "Fahad", "Khalid", "Sara", "Noura",
+            "Faisal", "Reem", "Omar", "Lama", "Sultan", "Hessa", "Turki", "Maha", "Nasser", "Dana" };
+    private static final String[] LAST_NAMES = { "Alqahtani", "Alotaibi", "Alghamdi", "Alzahrani", "Aldosari",
+            "Alharbi", "Almutairi", "Alshehri", "Alanazi", "Alshammari", "Alsubaie", "Alrashidi" };
+    private static final String[] ARABIC_FIRST_NAMES = { "محمد", "عبدالله", "فهد", "خالد", "سارة", "نورة", "فيصل",
+            "ريم", "عمر", "لمى", "سلطان", "حصة", "تركي", "مها", "ناصر", "دانة" };
+    private static final String[] ARABIC_LAST_NAMES = { "القحطاني", "العتيبي", "الغامدي", "الزهراني", "الدوسري",
+            "الحربي", "المطيري", "الشهري", "العنزي", "الشمري", "السبيعي", "الرشيدي" };
+    
+    private static final ApplicationStatus[] STATUSES = ApplicationStatus.values();
+    private static final EntityType[] ENTITY_TYPES = EntityType.values();
+    
+    private SyntheticData() {
+    }
+    
+    public static List<Customer> customers(int count) {
+        Random random = new Random(count);
+        List<Customer> customers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Customer customer = new Customer();
+            customer.setId(id(i));
+            customer.setUsername("user" + i);
+            customer.setMobile(mobile(i));
+            customer.setIdNumber(idNumber(i));
+            customer.setApplicationStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            customer.setEntityType(ENTITY_TYPES[random.nextInt(ENTITY_TYPES.length)]);
+            customer.setCurrentStep(1 + random.nextInt(7));
+            customer.setCreatedAt(createdAt(random));
+            // Roughly one in ten applicants hasn't reached the personal info step
+            if (random.nextInt(10) != 0) {
+                PersonalInfo info = new PersonalInfo();
+                info.setId("p" + i);
+                info.setCustomerId(customer.getId());
+                info.setFirstName(pick(random, FIRST_NAMES));
+                info.setSecondName(random.nextBoolean() ? pick(random, FIRST_NAMES) : null);
+                info.setLastName(pick(random, FIRST_NAMES));
+                info.setFamilyName(pick(random, LAST_NAMES));
+                info.setFullNameAr(pick(random, ARABIC_FIRST_NAMES) + " " + pick(random, ARABIC_LAST_NAMES));
+                customer.setPersonalInfo(info);
+            }
+            customers.add(customer);
+        }
+        return customers;
+    }
+    
+    public static List<CustomerSummary> summaries(List<Customer> customers) {
+        List<CustomerSummary> summaries = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            PersonalInfo info = customer.getPersonalInfo();
+            summaries.add(new CustomerSummary(customer.getId(), customer.getUsername(), customer.getMobile(),
+                    customer.getApplicationStatus(), customer.getEntityType(), customer.getCurrentStep(),
+                    customer.getCreatedAt(), info == null ? null : info.getId(),
+                    info == null ? null : info.getFirstName(), info == null ? null : info.getSecondName(),
+                    info == null ? null : info.getLastName(), info == null ? null : info.getFamilyName()));
+        }
+        return summaries;
+    }
+    
+    public static List<CustomerSearchFields> searchFields(List<Customer> customers) {
+        List<CustomerSearchFields> rows = new ArrayList<>(customers.size());
+        for (Customer customer : customers) {
+            rows.add(new SearchRow(customer));
+        }
+        return rows;
+    }
+    
+    /**
+     * Reviews for about a third of the customers, keyed by application id.
+     */
+    public static Map<String, ApplicationReview> reviews(List<Customer> customers) {
+        Random random = new Random(customers.size());
+        Map<String, ApplicationReview> reviews = new HashMap<>();
+        for (Customer customer : customers) {
+            if (random.nextInt(3) == 0) {
+                ApplicationReview review = new ApplicationReview();
+                review.setApplicationId(customer.getId());
+                review.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+                review.setAssignedTo("reviewer" + random.nextInt(20));
+                review.setReviewNotes("Checked documents");
+                review.setReviewedAt(NOW);
+                reviews.put(customer.getId(), review);
+            }
+        }
+        return reviews;
+    }
+    
+    /**
+     * An admin user holding {@code profiles} profiles of {@code permissionsPerProfile}
+     * permissions each, half of them shared with the other profiles.
+     */
+    public static AdminUser adminUser(int profiles, int permissionsPerProfile) {
+        AdminUser user = new AdminUser();
+        user.setId("admin-user");
+        user.setUsername("admin");
+        user.setPasswordHash("{noop}admin");
+        Set<Profile> userProfiles = new HashSet<>();
+        for (int p = 0; p < profiles; p++) {
+            Profile profile = new Profile();
+            profile.setId("profile" + p);
+            profile.setName("PROFILE_" + p);
+            Set<Permission> permissions = new HashSet<>();
+            for (int i = 0; i < permissionsPerProfile; i++) {
+                int number = i % 2 == 0 ? i : p * permissionsPerProfile + i;
+                Permission permission = new Permission();
+                permission.setId("permission" + number);
+                permission.setName("PERMISSION_" + number);
+                permissions.add(permission);
+            }
+            profile.setPermissions(permissions);
+            userProfiles.add(profile);
+        }
+        user.setProfiles(userProfiles);
+        return user;
+    }
+    
+    public static String mobile(int index) {
+        return String.format("05%08d", index);
+    }
+    
+    public static String idNumber(int index) {
+        return String.format("1%09d", index);
+    }
+    
+    private static String id(int index) {
+        return String.format("00000000-0000-4000-8000-%012d", index);
+    }
+    
+    private static Instant createdAt(Random random) {
+        return NOW.minusSeconds((long) (random.nextDouble() * CREATED_SPAN_SECONDS));
+    }
+    
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+    
+    private record SearchRow(Customer customer) implements CustomerSearchFields {
+        
+        @Override
+        public String getId() {
+            return customer.getId();
+        }
+        
+        @Override
+        public String getUsername() {
+            return customer.getUsername();
+        }
+        
+        @Override
+        public String getMobile() {
+            return customer.getMobile();
+        }
+        
+        @Override
+        public String getIdNumber() {
+            return customer.getIdNumber();
+        }
+        
+        @Override
+        public String getFirstName() {
+            return customer.getPersonalInfo() == null ? null : customer.getPersonalInfo().getFirstName();
+        }
+        
+        @Override
+        public String getSecondName() {
+            return customer.getPersonalInfo() == null ? null : customer.getPersonalInfo().getSecondName();
+        }
+        
+        @Override
+        public String getLastName() {
+            return customer.getPersonalInfo() == null ? null : customer.getPersonalInfo().getLastName();
+        }
+        
+        @Override
+        public String getFamilyName() {
+            return customer.getPersonalInfo() == null ? null : customer.getPersonalInfo().getFamilyName();
+        }
+        
+        @Override
+        public String getFullNameAr() {
+            return customer.getPersonalInfo() == null ? null : customer.getPersonalInfo().getFullNameAr();
+        }
+        
+        @Override
+        public Instant getCreatedAt() {
+            return customer.getCreatedAt();
+        }
+    }
+}
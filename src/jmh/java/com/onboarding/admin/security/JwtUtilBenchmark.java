@@ -0,0 +1,78 @@
+package com.onboarding.admin.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing and verification, with and without the verified-token cache
+ * that spares repeat requests the signature check and claims parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtUtilBenchmark {
+    
+    private static final String SECRET = "benchmark-signing-key-that-is-at-least-256-bits";
+    
+    private static final List<String> PERMISSIONS = List.of("VIEW_APPLICATIONS", "REVIEW_APPLICATIONS",
+            "APPROVE_APPLICATIONS", "VIEW_STATISTICS", "VIEW_AUDIT_LOGS", "MANAGE_USERS");
+    
+    private JwtUtil cached;
+    private JwtUtil uncached;
+    private String token;
+    
+    @Setup
+    public void setUp() {
+        cached = jwtUtil(10_000);
+        uncached = jwtUtil(0);
+        token = cached.generateToken("admin", PERMISSIONS, 1);
+    }
+    
+    @Benchmark
+    public String generate() {
+        return cached.generateToken("admin", PERMISSIONS, 1);
+    }
+    
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyCached() {
+        return cached.verify(token);
+    }
+    
+    @Benchmark
+    public Optional<JwtUtil.VerifiedToken> verifyUncached() {
+        return uncached.verify(token);
+    }
+    
+    private static JwtUtil jwtUtil(long verifiedCacheSize) {
+        JwtUtil jwtUtil = new JwtUtil();
+        set(jwtUtil, "secret", SECRET);
+        set(jwtUtil, "expiration", 86_400_000L);
+        set(jwtUtil, "embedPermissions", true);
+        set(jwtUtil, "verifiedCacheSize", verifiedCacheSize);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+    
+    private static void set(JwtUtil jwtUtil, String name, Object value) {
+        Field field = ReflectionUtils.findField(JwtUtil.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, jwtUtil, value);
+    }
+}
@@ -0,0 +1,110 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.benchmark.SyntheticData;
+import com.onboarding.admin.entity.AdminUser;
+import com.onboarding.admin.entity.Permission;
+import com.onboarding.admin.repository.AdminUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Resolving a user's principal, from the principal cache and by flattening
+ * their profiles into authorities on a cache miss, the permission names issued
+ * in tokens, and checking a token's auth version and permissions against the
+ * cached and freshly loaded auth state. The repository is a stub, so the
+ * loads measure the service's own work on the query results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminAuthoritiesBenchmark {
+    
+    @Param({ "1", "3", "10" })
+    public int profiles;
+    
+    @Param({ "20" })
+    public int permissionsPerProfile;
+    
+    private AdminUserDetailsService userDetailsService;
+    private AdminUser user;
+    private Set<String> tokenPermissions;
+    
+    @Setup
+    public void setUp() {
+        user = SyntheticData.adminUser(profiles, permissionsPerProfile);
+        // What the token carries, and what the permission query returns
+        tokenPermissions = user.getProfiles().stream()
+                .flatMap(profile -> profile.getPermissions().stream())
+                .map(Permission::getName)
+                .collect(Collectors.toSet());
+        AdminUserRepository repository = (AdminUserRepository) Proxy.newProxyInstance(
+                AdminUserRepository.class.getClassLoader(), new Class<?>[] { AdminUserRepository.class },
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findByUsername" -> Optional.of(user);
+                    case "findActiveAuthVersion" -> Optional.of(user.getAuthVersion());
+                    case "findPermissionNames" -> new HashSet<>(tokenPermissions);
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+        userDetailsService = new AdminUserDetailsService(repository);
+        set("principalCacheTtl", Duration.ofHours(1));
+        set("principalCacheSize", 1000L);
+        set("authVersionCacheTtl", Duration.ofSeconds(30));
+        userDetailsService.initCache();
+    }
+    
+    @Benchmark
+    public UserDetails cachedPrincipal() {
+        return userDetailsService.loadUserByUsername(user.getUsername());
+    }
+    
+    @Benchmark
+    public UserDetails loadedPrincipal() {
+        userDetailsService.evict(user.getUsername());
+        return userDetailsService.loadUserByUsername(user.getUsername());
+    }
+    
+    @Benchmark
+    public Set<String> permissionNames() {
+        return userDetailsService.getUserPermissions(user.getUsername());
+    }
+    
+    @Benchmark
+    public boolean cachedTokenCheck() {
+        return userDetailsService.isCurrent(user.getUsername(), user.getAuthVersion(), tokenPermissions);
+    }
+    
+    @Benchmark
+    public boolean loadedTokenCheck() {
+        userDetailsService.evict(user.getUsername());
+        return userDetailsService.isCurrent(user.getUsername(), user.getAuthVersion(), tokenPermissions);
+    }
+    
+    private void set(String name, Object value) {
+        Field field = ReflectionUtils.findField(AdminUserDetailsService.class, name);
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, userDetailsService, value);
+    }
+}
@@ -0,0 +1,106 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.benchmark.CustomerDataset;
+import com.onboarding.admin.benchmark.SyntheticData;
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.CustomerSearchFields;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applicant lookups against the in-memory search index, which answers free-text
+ * queries before any SQL runs. The index is built from the synthetic dataset
+ * through its regular rebuild.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ApplicantSearchIndexBenchmark {
+    
+    private static final int LIMIT = 20;
+    
+    private ApplicantSearchIndex index;
+    private String mobile;
+    
+    @Setup
+    public void setUp(CustomerDataset data) {
+        List<CustomerSearchFields> rows = SyntheticData.searchFields(data.entities);
+        CustomerRepository repository = (CustomerRepository) Proxy.newProxyInstance(
+                CustomerRepository.class.getClassLoader(), new Class<?>[] { CustomerRepository.class },
+                (proxy, method, args) -> {
+                    if (method.getName().equals("streamSearchFields")) {
+                        return rows.stream();
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        index = new ApplicantSearchIndex(repository, new NoTransactionManager());
+        Field enabled = ReflectionUtils.findField(ApplicantSearchIndex.class, "enabled");
+        ReflectionUtils.makeAccessible(enabled);
+        ReflectionUtils.setField(enabled, index, true);
+        index.rebuild();
+        mobile = SyntheticData.mobile(data.customers / 2);
+    }
+    
+    @Benchmark
+    public ApplicantSearchIndex.SearchHits namePrefix() {
+        return index.search("moh", LIMIT);
+    }
+    
+    @Benchmark
+    public ApplicantSearchIndex.SearchHits fullName() {
+        return index.search("sara alqahtani", LIMIT);
+    }
+    
+    @Benchmark
+    public ApplicantSearchIndex.SearchHits arabicName() {
+        return index.search("محمد الغامدي", LIMIT);
+    }
+    
+    @Benchmark
+    public ApplicantSearchIndex.SearchHits mobileNumber() {
+        return index.search(mobile, LIMIT);
+    }
+    
+    @Benchmark
+    public ApplicantSearchIndex.SearchHits noMatch() {
+        return index.search("zzqx", LIMIT);
+    }
+    
+    // The rebuild only needs a transaction to stream the rows in
+    private static final class NoTransactionManager implements PlatformTransactionManager {
+        
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+        
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+        
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
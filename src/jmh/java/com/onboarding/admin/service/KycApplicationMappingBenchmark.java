@@ -0,0 +1,60 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.benchmark.CustomerDataset;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Display name and DTO mapping of every customer in the dataset, as done for
+ * list pages and exports once the rows are loaded.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class KycApplicationMappingBenchmark {
+    
+    private KycApplicationAssembler assembler;
+    
+    @Setup
+    public void setUp() {
+        // Only the review lookup uses the repository
+        assembler = new KycApplicationAssembler(null);
+    }
+    
+    @Benchmark
+    public void fullName(CustomerDataset data, Blackhole blackhole) {
+        for (Customer customer : data.entities) {
+            blackhole.consume(customer.getFullName());
+        }
+    }
+    
+    @Benchmark
+    public void customerToDto(CustomerDataset data, Blackhole blackhole) {
+        for (Customer customer : data.entities) {
+            blackhole.consume(assembler.toDto(customer, data.reviews.get(customer.getId())));
+        }
+    }
+    
+    @Benchmark
+    public void summaryToDto(CustomerDataset data, Blackhole blackhole) {
+        for (CustomerSummary customer : data.summaries) {
+            blackhole.consume(assembler.toDto(customer, data.reviews.get(customer.id())));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.benchmark.SyntheticData;
+import com.onboarding.admin.dto.StatisticsDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Daily and monthly bucketing of the statistics snapshot. The aggregator keeps
+ * per-day counters, so the work depends on the window length rather than on
+ * the number of customers, which only changes the counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StatisticsBenchmark {
+    
+    @Param({ "10000", "100000", "1000000" })
+    public int customers;
+    
+    private ApplicationStatsAggregator.StatsSnapshot snapshot;
+    
+    @Setup
+    public void setUp() {
+        LocalDate today = LocalDate.ofInstant(SyntheticData.NOW, ZoneOffset.UTC);
+        LocalDate windowStart = ApplicationStatsAggregator.windowStart(today);
+        Random random = new Random(customers);
+        Map<LocalDate, Long> perDay = new TreeMap<>();
+        // Customers are created evenly over a year; the counters keep only the window
+        for (int i = 0; i < customers; i++) {
+            LocalDate day = today.minusDays(random.nextInt(365));
+            if (!day.isBefore(windowStart)) {
+                perDay.merge(day, 1L, Long::sum);
+            }
+        }
+        snapshot = new ApplicationStatsAggregator.StatsSnapshot(
+                Map.of("DRAFT", customers / 2L, "SUBMITTED", customers / 4L, "APPROVED", customers / 4L),
+                Map.of("INDIVIDUAL", customers * 3L / 4, "ENTITY", customers / 4L),
+                perDay, customers, customers * 4L, today);
+    }
+    
+    @Benchmark
+    public StatisticsDto summarize() {
+        return StatisticsService.summarize(snapshot);
+    }
+    
+    @Benchmark
+    public Map<String, Long> dailyBuckets() {
+        return StatisticsService.dailyBuckets(snapshot.perDay(), snapshot.today());
+    }
+    
+    @Benchmark
+    public Map<String, Long> monthlyBuckets() {
+        return StatisticsService.monthlyBuckets(snapshot.perDay(), snapshot.today());
+    }
+}
@@ -1,9 +1,7 @@
 package com.onboarding.admin.config;
 
-import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
@@ -11,6 +9,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
@@ -34,7 +33,7 @@ import java.util.Map;
     transactionManagerRef = "adminTransactionManager"
 )
 public class AdminDataSourceConfig {
-
+    
     @Value("${spring.datasource.admin.jdbc-url}")
     private String adminJdbcUrl;
     
@@ -43,19 +42,13 @@ public class AdminDataSourceConfig {
     
     @Value("${spring.datasource.admin.password}")
     private String adminPassword;
-
+    
     @Primary
     @Bean(name = "adminDataSource")
-    @ConfigurationProperties("spring.datasource.admin.hikari")
-    public DataSource adminDataSource() {
-        HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl(adminJdbcUrl);
-        dataSource.setUsername(adminUsername);
-        dataSource.setPassword(adminPassword);
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        return dataSource;
+    public DataSource adminDataSource(HikariDataSourceFactory dataSourceFactory) {
+        return dataSourceFactory.bounded(dataSourceFactory.create("admin", adminJdbcUrl, adminUsername, adminPassword));
     }
-
+    
     @Primary
     @Bean(name = "adminEntityManagerFactory")
     public LocalContainerEntityManagerFactoryBean adminEntityManagerFactory(
@@ -68,6 +61,17 @@ public class AdminDataSourceConfig {
         // Use snake_case naming for admin database
         properties.put("hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
         properties.put("hibernate.implicit_naming_strategy", "org.hibernate.boot.model.naming.ImplicitNamingStrategyJpaCompliantImpl");
+        // audit_logs is partitioned (AuditLogPartitions); without this its indexes look missing to schema update
+        properties.put("hibernate.hbm2ddl.extra_physical_table_types", "PARTITIONED TABLE");
+        // Pads IN lists to powers of two, so review lookups for pages of any size share a few statements
+        properties.put("hibernate.query.in_clause_parameter_padding", "true");
+        // Profiles, permissions and roles are cached (regions in admin-cache.conf), so resolving a user's access needs no SQL
+        properties.put("hibernate.cache.use_second_level_cache", "true");
+        properties.put("hibernate.cache.use_query_cache", "true");
+        properties.put("hibernate.cache.region.factory_class", "jcache");
+        properties.put("hibernate.javax.cache.provider", "com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider");
+        properties.put("hibernate.javax.cache.uri", "admin-cache.conf");
+        properties.put("hibernate.javax.cache.missing_cache_strategy", "fail");
         
         return builder
                 .dataSource(dataSource)
@@ -76,11 +80,16 @@ public class AdminDataSourceConfig {
                 .properties(properties)
                 .build();
     }
-
+    
     @Primary
     @Bean(name = "adminTransactionManager")
     public PlatformTransactionManager adminTransactionManager(
             @Qualifier("adminEntityManagerFactory") LocalContainerEntityManagerFactoryBean entityManagerFactory) {
         return new JpaTransactionManager(entityManagerFactory.getObject());
     }
+    
+    @Bean(name = "adminJdbcTemplate")
+    public JdbcTemplate adminJdbcTemplate(@Qualifier("adminDataSource") DataSource dataSource) {
+        return new JdbcTemplate(dataSource);
+    }
 }
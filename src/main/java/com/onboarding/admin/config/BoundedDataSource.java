@@ -0,0 +1,126 @@
+package com.onboarding.admin.config;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hands out at most as many connections as the pool behind it holds, queueing
+ * further callers in arrival order.
+ *
+ * <p>On virtual threads there is no request thread pool in front of the
+ * connection pools, so every in-flight request can wait on Hikari at once.
+ * Hikari doesn't serve its waiters in order, and under a burst some of them
+ * reach the connection timeout while later arrivals are served. Waiting here
+ * instead keeps the line fair, and it may be longer than the connection timeout.
+ */
+public class BoundedDataSource extends DelegatingDataSource implements AutoCloseable {
+    
+    private final Semaphore permits;
+    private final Duration queueTimeout;
+    
+    public BoundedDataSource(DataSource targetDataSource, int maxConnections, Duration queueTimeout) {
+        super(targetDataSource);
+        this.permits = new Semaphore(maxConnections, true);
+        this.queueTimeout = queueTimeout;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection());
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        try {
+            return releasingOnClose(obtainTargetDataSource().getConnection(username, password));
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+    
+    /**
+     * Callers currently waiting for a connection.
+     */
+    public int getQueueLength() {
+        return permits.getQueueLength();
+    }
+    
+    @Override
+    public void close() throws Exception {
+        if (obtainTargetDataSource() instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private void acquire() throws SQLException {
+        try {
+            if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new SQLTransientConnectionException("No connection available after queueing for " + queueTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while queueing for a connection", e);
+        }
+    }
+    
+    private Connection releasingOnClose(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new ReleasingHandler(connection));
+    }
+    
+    private final class ReleasingHandler implements InvocationHandler {
+        
+        private final Connection connection;
+        private final AtomicBoolean released = new AtomicBoolean();
+        
+        ReleasingHandler(Connection connection) {
+            this.connection = connection;
+        }
+        
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "close":
+                    try {
+                        connection.close();
+                    } finally {
+                        // Closing twice must not hand out an extra permit
+                        if (released.compareAndSet(false, true)) {
+                            permits.release();
+                        }
+                    }
+                    return null;
+                default:
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+            }
+        }
+    }
+}
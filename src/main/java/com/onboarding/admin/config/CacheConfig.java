@@ -0,0 +1,13 @@
+package com.onboarding.admin.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Enables the Spring cache abstraction; the backend is chosen with
+ * {@code spring.cache.type}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+}
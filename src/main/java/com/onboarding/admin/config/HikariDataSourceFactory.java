@@ -0,0 +1,113 @@
+package com.onboarding.admin.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Builds the Hikari pools of both datasources the same way.
+ *
+ * <p>Each pool registers its {@code hikaricp.*} metrics (active, idle, pending,
+ * acquire time, timeouts) tagged with its name, such as {@code pool=kyc} or
+ * {@code pool=admin}, including pools that are not beans themselves. Leak
+ * detection and the pgjdbc statement cache and batched-insert rewrite are set
+ * first; {@code spring.datasource.<name>.hikari.*} is bound afterwards and can
+ * override any of them.
+ *
+ * <p>With virtual threads each pool is put behind a {@link BoundedDataSource},
+ * so callers beyond the pool size queue for up to {@code datasource.queue-timeout}
+ * instead of timing out inside Hikari. The queue length is published as
+ * {@code datasource.queued} with the same {@code pool} tag.
+ */
+@Component
+public class HikariDataSourceFactory {
+    
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    
+    // Connections held longer than this are logged with the stack that took them,
+    // unless datasource.<name>.leak-detection-threshold overrides it for one datasource
+    @Value("${datasource.leak-detection-threshold:PT2M}")
+    private Duration leakDetectionThreshold;
+    
+    @Value("${datasource.queue-timeout:PT2M}")
+    private Duration queueTimeout;
+    
+    @Value("${datasource.prepare-threshold:3}")
+    private int prepareThreshold;
+    
+    @Value("${datasource.prepared-statement-cache-queries:512}")
+    private int preparedStatementCacheQueries;
+    
+    @Value("${datasource.prepared-statement-cache-size-mib:10}")
+    private int preparedStatementCacheSizeMiB;
+    
+    public HikariDataSourceFactory(Environment environment, MeterRegistry meterRegistry) {
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    public HikariDataSource create(String name, String jdbcUrl, String username, String password) {
+        return create(name, name, jdbcUrl, username, password);
+    }
+    
+    /**
+     * Creates a pool named {@code poolName} configured from
+     * {@code spring.datasource.<propertiesName>.hikari.*}, for pools that share
+     * the settings of another datasource.
+     */
+    public HikariDataSource create(String poolName, String propertiesName, String jdbcUrl, String username,
+            String password) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(poolName);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        dataSource.setJdbcUrl(jdbcUrl);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        dataSource.setDriverClassName("org.postgresql.Driver");
+        dataSource.setLeakDetectionThreshold(environment.getProperty(
+                "datasource." + propertiesName + ".leak-detection-threshold", Duration.class, leakDetectionThreshold)
+                .toMillis());
+        
+        // Statements run this often on a connection are prepared on the server and their plans reused
+        dataSource.addDataSourceProperty("prepareThreshold", prepareThreshold);
+        dataSource.addDataSourceProperty("preparedStatementCacheQueries", preparedStatementCacheQueries);
+        dataSource.addDataSourceProperty("preparedStatementCacheSizeMiB", preparedStatementCacheSizeMiB);
+        // JDBC insert batches are sent as multi-row inserts
+        dataSource.addDataSourceProperty("reWriteBatchedInserts", true);
+        
+        Binder.get(environment).bind("spring.datasource." + propertiesName + ".hikari", Bindable.ofInstance(dataSource));
+        return dataSource;
+    }
+    
+    /**
+     * The pool itself on platform threads, where the request thread pool already
+     * limits how many callers wait for it; otherwise the pool behind a queue of
+     * its size.
+     */
+    public DataSource bounded(HikariDataSource pool) {
+        return bounded(pool, queueTimeout);
+    }
+    
+    public DataSource bounded(HikariDataSource pool, Duration queueTimeout) {
+        if (!Threading.VIRTUAL.isActive(environment)) {
+            return pool;
+        }
+        BoundedDataSource bounded = new BoundedDataSource(pool, pool.getMaximumPoolSize(), queueTimeout);
+        Gauge.builder("datasource.queued", bounded, BoundedDataSource::getQueueLength)
+                .description("Callers waiting for a connection")
+                .tag("pool", pool.getPoolName())
+                .register(meterRegistry);
+        return bounded;
+    }
+}
@@ -3,18 +3,21 @@ package com.onboarding.admin.config;
 import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.orm.jpa.EntityManagerFactoryBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
 import javax.sql.DataSource;
+import java.time.Duration;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @Configuration
@@ -25,7 +28,7 @@ import java.util.Map;
     transactionManagerRef = "kycTransactionManager"
 )
 public class KycDataSourceConfig {
-
+    
     @Value("${spring.datasource.kyc.jdbc-url}")
     private String kycJdbcUrl;
     
@@ -34,18 +37,53 @@ public class KycDataSourceConfig {
     
     @Value("${spring.datasource.kyc.password}")
     private String kycPassword;
-
+    
+    // Comma-separated JDBC URLs of read replicas, using the primary's credentials and pool settings
+    @Value("${spring.datasource.kyc.replica-urls:}")
+    private String kycReplicaUrls;
+    
+    @Value("${spring.datasource.kyc.replica-connection-timeout:PT2S}")
+    private Duration replicaConnectionTimeout;
+    
+    @Value("${spring.datasource.kyc.replica-max-lag:PT30S}")
+    private Duration replicaMaxLag;
+    
+    @Bean(name = "kycRoutingDataSource")
+    public KycRoutingDataSource kycRoutingDataSource(HikariDataSourceFactory dataSourceFactory) {
+        DataSource primary = dataSourceFactory.bounded(dataSourceFactory.create("kyc", kycJdbcUrl, kycUsername, kycPassword));
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : kycReplicaUrls.split(",")) {
+            if (url.isBlank()) {
+                continue;
+            }
+            String name = "kyc-replica-" + (replicas.size() + 1);
+            HikariDataSource replica = dataSourceFactory.create(name, "kyc", url.trim(), kycUsername, kycPassword);
+            // Fail over to the primary quickly instead of waiting out the regular timeout or queue
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replicas.put(name, dataSourceFactory.bounded(replica, replicaConnectionTimeout));
+        }
+        return new KycRoutingDataSource(primary, replicas, replicaMaxLag);
+    }
+    
+    /**
+     * Read-only transactions use a replica when one is configured and healthy,
+     * see {@link KycRoutingDataSource}.
+     */
     @Bean(name = "kycDataSource")
-    @ConfigurationProperties("spring.datasource.kyc.hikari")
-    public DataSource kycDataSource() {
-        HikariDataSource dataSource = new HikariDataSource();
-        dataSource.setJdbcUrl(kycJdbcUrl);
-        dataSource.setUsername(kycUsername);
-        dataSource.setPassword(kycPassword);
-        dataSource.setDriverClassName("org.postgresql.Driver");
-        return dataSource;
+    public DataSource kycDataSource(@Qualifier("kycRoutingDataSource") DataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
     }
-
+    
+    /**
+     * Unpooled connections for the statistics change listener, which keeps its
+     * connection open for as long as it listens and would otherwise pin a pool
+     * slot and trip leak detection.
+     */
+    @Bean(name = "kycListenerDataSource")
+    public DataSource kycListenerDataSource() {
+        return new DriverManagerDataSource(kycJdbcUrl, kycUsername, kycPassword);
+    }
+    
     @Bean(name = "kycEntityManagerFactory")
     public LocalContainerEntityManagerFactoryBean kycEntityManagerFactory(
             EntityManagerFactoryBuilder builder,
@@ -57,6 +95,8 @@ public class KycDataSourceConfig {
         // Use standard naming - no conversion, use exact field names as column names
         properties.put("hibernate.physical_naming_strategy", "org.hibernate.boot.model.naming.CamelCaseToUnderscoresNamingStrategy");
         properties.put("hibernate.implicit_naming_strategy", "org.hibernate.boot.model.naming.ImplicitNamingStrategyJpaCompliantImpl");
+        // Pads IN lists to powers of two so id lookups reuse a few cached prepared statements
+        properties.put("hibernate.query.in_clause_parameter_padding", "true");
         
         return builder
                 .dataSource(dataSource)
@@ -65,7 +105,7 @@ public class KycDataSourceConfig {
                 .properties(properties)
                 .build();
     }
-
+    
     @Bean(name = "kycTransactionManager")
     public PlatformTransactionManager kycTransactionManager(
             @Qualifier("kycEntityManagerFactory") LocalContainerEntityManagerFactoryBean entityManagerFactory) {
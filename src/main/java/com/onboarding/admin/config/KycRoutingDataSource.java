@@ -0,0 +1,157 @@
+package com.onboarding.admin.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends the connections of read-only transactions to a KYC replica and
+ * everything else, including writes and non-transactional work, to the
+ * primary.
+ *
+ * <p>Replicas are used round robin. A replica that can't be connected to, or
+ * fails the periodic health check (unreachable, or replaying more than the
+ * allowed lag behind), is skipped until it passes a check again; while none is
+ * healthy, reads go to the primary. A replica whose pool merely has no free
+ * connection in time stays in rotation, and only the read that timed out goes
+ * to the primary.
+ *
+ * <p>JPA transactions ask for their connection before the read-only flag is
+ * bound, so this has to sit behind a {@code LazyConnectionDataSourceProxy},
+ * which defers that until the first statement.
+ */
+@Slf4j
+public class KycRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+    
+    static final String PRIMARY = "primary";
+    
+    // Zero when the replica has replayed everything it received, otherwise the age of the last replayed commit
+    private static final String LAG_SQL = "select coalesce(case when pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() "
+            + "then 0 else extract(epoch from now() - pg_last_xact_replay_timestamp()) end, 0)";
+    
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    public KycRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag) {
+        this.primary = primary;
+        this.maxLag = maxLag;
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = currentReplica();
+        if (replica != null) {
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                if (isSaturated(e)) {
+                    log.debug("KYC replica {} is busy, reading from the primary this time: {}", replica.name, e.getMessage());
+                } else {
+                    markDown(replica, e.getMessage());
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    protected Object determineCurrentLookupKey() {
+        Replica replica = currentReplica();
+        return replica == null ? PRIMARY : replica.name;
+    }
+    
+    private Replica currentReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+    
+    @Scheduled(fixedDelayString = "${spring.datasource.kyc.replica-check-interval:PT10S}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                    Statement statement = connection.createStatement();
+                    ResultSet lag = statement.executeQuery(LAG_SQL)) {
+                lag.next();
+                double lagSeconds = lag.getDouble(1);
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markDown(replica, String.format("replication lag of %.0fs", lagSeconds));
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("KYC replica {} is healthy again, routing reads to it", replica.name);
+                }
+            } catch (SQLException e) {
+                if (!isSaturated(e)) {
+                    markDown(replica, e.getMessage());
+                }
+            }
+        }
+    }
+    
+    // Hikari and the connection queue time out without a cause when every connection is in use,
+    // and attach the last connection failure when the database can't be reached
+    private static boolean isSaturated(SQLException e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+    
+    private void markDown(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("KYC replica {} is unavailable ({}), reading from the primary until it recovers",
+                    replica.name, reason);
+        }
+    }
+    
+    @Override
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+    
+    private static final class Replica {
+        
+        final String name;
+        final DataSource dataSource;
+        volatile boolean healthy = true;
+        
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.onboarding.admin.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executor for database lookups that run alongside the request thread, such as
+ * the admin review query while the KYC customer is being loaded.
+ *
+ * <p>On platform threads the pool is bounded; when it and its queue are full
+ * the lookup runs on the calling thread, so a burst degrades to sequential
+ * queries instead of failing. With {@code spring.threads.virtual.enabled} every
+ * lookup gets its own virtual thread, like the requests themselves, and the
+ * connection pools are what limits concurrency.
+ */
+@Configuration
+public class LookupExecutorConfig {
+    
+    @Value("${applications.lookup-executor.pool-size:16}")
+    private int poolSize;
+    
+    @Value("${applications.lookup-executor.queue-capacity:200}")
+    private int queueCapacity;
+    
+    @Bean(name = "lookupExecutor")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor lookupExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix("lookup-");
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        return executor;
+    }
+    
+    @Bean(name = "lookupExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualLookupExecutor() {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("lookup-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+}
@@ -1,5 +1,7 @@
 package com.onboarding.admin.controller;
 
+import com.onboarding.admin.dto.AuditLogQuery;
+import com.onboarding.admin.dto.CursorPage;
 import com.onboarding.admin.entity.AuditLog;
 import com.onboarding.admin.service.AuditLogService;
 import lombok.RequiredArgsConstructor;
@@ -23,6 +25,15 @@ public class AuditLogController {
         return ResponseEntity.ok(auditLogService.getAllLogs(pageable));
     }
     
+    @GetMapping("/scroll")
+    @PreAuthorize("hasAuthority('MANAGE_USERS')")
+    public ResponseEntity<CursorPage<AuditLog>> scrollLogs(
+            AuditLogQuery query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        return ResponseEntity.ok(auditLogService.scrollLogs(query, cursor, clampSize(size)));
+    }
+    
     @GetMapping("/resource/{resource}")
     @PreAuthorize("hasAuthority('MANAGE_USERS')")
     public ResponseEntity<Page<AuditLog>> getLogsByResource(
@@ -36,4 +47,19 @@ public class AuditLogController {
             @PathVariable String resourceId, Pageable pageable) {
         return ResponseEntity.ok(auditLogService.getLogsByResourceId(resourceId, pageable));
     }
+    
+    @GetMapping("/resource-id/{resourceId}/scroll")
+    @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
+    public ResponseEntity<CursorPage<AuditLog>> scrollLogsByResourceId(
+            @PathVariable String resourceId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size) {
+        AuditLogQuery query = new AuditLogQuery();
+        query.setResourceId(resourceId);
+        return ResponseEntity.ok(auditLogService.scrollLogs(query, cursor, clampSize(size)));
+    }
+    
+    private int clampSize(int size) {
+        return Math.max(1, Math.min(size, 200));
+    }
 }
@@ -1,7 +1,13 @@
 package com.onboarding.admin.controller;
 
+import com.onboarding.admin.dto.BulkAssignRequest;
+import com.onboarding.admin.dto.BulkStatusRequest;
+import com.onboarding.admin.dto.BulkUpdateResponse;
 import com.onboarding.admin.dto.KycApplicationDto;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.service.BulkApplicationService;
 import com.onboarding.admin.service.KycApplicationService;
+import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -16,6 +22,7 @@ import org.springframework.web.bind.annotation.*;
 public class KycApplicationController {
     
     private final KycApplicationService applicationService;
+    private final BulkApplicationService bulkApplicationService;
     
     @GetMapping
     @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
@@ -26,10 +33,17 @@ public class KycApplicationController {
     @GetMapping("/status/{status}")
     @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
     public ResponseEntity<Page<KycApplicationDto>> getApplicationsByStatus(
-            @PathVariable String status, Pageable pageable) {
+            @PathVariable ApplicationStatus status, Pageable pageable) {
         return ResponseEntity.ok(applicationService.getApplicationsByStatus(status, pageable));
     }
     
+    @GetMapping("/review-status/{status}")
+    @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
+    public ResponseEntity<Page<KycApplicationDto>> getApplicationsByReviewStatus(
+            @PathVariable ApplicationStatus status, Pageable pageable) {
+        return ResponseEntity.ok(applicationService.getApplicationsByReviewStatus(status, pageable));
+    }
+    
     @GetMapping("/{id}")
     @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
     public ResponseEntity<KycApplicationDto> getApplicationById(@PathVariable String id) {
@@ -41,8 +55,9 @@ public class KycApplicationController {
     public ResponseEntity<KycApplicationDto> updateStatus(
             @PathVariable String id,
             @RequestParam String status,
-            @RequestParam(required = false) String reviewNotes) {
-        return ResponseEntity.ok(applicationService.updateApplicationStatus(id, status, reviewNotes));
+            @RequestParam(required = false) String reviewNotes,
+            @RequestParam(required = false) Long version) {
+        return ResponseEntity.ok(applicationService.updateApplicationStatus(id, status, reviewNotes, version));
     }
     
     @PutMapping("/{id}/assign")
@@ -52,4 +67,16 @@ public class KycApplicationController {
             @RequestParam String assignedTo) {
         return ResponseEntity.ok(applicationService.assignApplication(id, assignedTo));
     }
+    
+    @PutMapping("/bulk/status")
+    @PreAuthorize("hasAuthority('REVIEW_APPLICATIONS')")
+    public ResponseEntity<BulkUpdateResponse> updateStatuses(@Valid @RequestBody BulkStatusRequest request) {
+        return ResponseEntity.ok(bulkApplicationService.updateStatuses(request));
+    }
+    
+    @PutMapping("/bulk/assign")
+    @PreAuthorize("hasAuthority('ASSIGN_APPLICATIONS')")
+    public ResponseEntity<BulkUpdateResponse> assignApplications(@Valid @RequestBody BulkAssignRequest request) {
+        return ResponseEntity.ok(bulkApplicationService.assignApplications(request));
+    }
 }
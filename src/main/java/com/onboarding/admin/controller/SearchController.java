@@ -1,14 +1,25 @@
 package com.onboarding.admin.controller;
 
+import com.onboarding.admin.dto.CursorPage;
 import com.onboarding.admin.dto.KycApplicationDto;
 import com.onboarding.admin.dto.SearchRequest;
+import com.onboarding.admin.service.ApplicationExportService;
+import com.onboarding.admin.service.ApplicationExportService.ApplicationExport;
+import com.onboarding.admin.service.ApplicationExportService.ExportFormat;
 import com.onboarding.admin.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/search")
@@ -17,6 +28,7 @@ import org.springframework.web.bind.annotation.*;
 public class SearchController {
     
     private final SearchService searchService;
+    private final ApplicationExportService exportService;
     
     @PostMapping("/applications")
     @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
@@ -24,4 +36,35 @@ public class SearchController {
             @RequestBody SearchRequest request, Pageable pageable) {
         return ResponseEntity.ok(searchService.searchApplications(request, pageable));
     }
+    
+    @GetMapping("/applicants")
+    @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
+    public ResponseEntity<List<KycApplicationDto>> findApplicants(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(searchService.findApplicants(q, Math.max(1, Math.min(limit, 100))));
+    }
+    
+    @PostMapping("/applications/scroll")
+    @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
+    public ResponseEntity<CursorPage<KycApplicationDto>> scrollApplications(
+            @RequestBody SearchRequest request,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(searchService.scrollApplications(request, cursor, Math.max(1, Math.min(size, 200))));
+    }
+    
+    @PostMapping("/applications/export")
+    @PreAuthorize("hasAuthority('VIEW_APPLICATIONS')")
+    public ResponseEntity<StreamingResponseBody> exportApplications(
+            @RequestBody SearchRequest request,
+            @RequestParam(defaultValue = "csv") String format) {
+        ExportFormat exportFormat = ExportFormat.parse(format);
+        ApplicationExport export = exportService.prepare(request, exportFormat);
+        String filename = "applications-" + LocalDate.now() + "." + exportFormat.extension();
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(exportFormat.contentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(export::writeTo);
+    }
 }
@@ -0,0 +1,13 @@
+package com.onboarding.admin.dto;
+
+import lombok.Data;
+
+@Data
+public class AuditLogQuery {
+    private String resource;
+    private String resourceId;
+    private String username;
+    private String action;
+    private String dateFrom;
+    private String dateTo;
+}
@@ -0,0 +1,15 @@
+package com.onboarding.admin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkAssignRequest {
+    @NotEmpty
+    private List<String> applicationIds;
+    
+    @NotBlank
+    private String assignedTo;
+}
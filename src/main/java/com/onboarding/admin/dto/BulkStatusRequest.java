@@ -0,0 +1,17 @@
+package com.onboarding.admin.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Data;
+import java.util.List;
+
+@Data
+public class BulkStatusRequest {
+    @NotEmpty
+    private List<String> applicationIds;
+    
+    @NotBlank
+    private String status;
+    
+    private String reviewNotes;
+}
@@ -0,0 +1,30 @@
+package com.onboarding.admin.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkUpdateResponse {
+    private int requested;
+    private int updated;
+    private List<ItemResult> results;
+    
+    public enum Outcome {
+        UPDATED,
+        NOT_FOUND,
+        DUPLICATE
+    }
+    
+    @Data
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class ItemResult {
+        private String applicationId;
+        private Outcome outcome;
+    }
+}
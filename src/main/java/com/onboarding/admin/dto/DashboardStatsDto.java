@@ -4,6 +4,8 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -18,4 +20,6 @@ public class DashboardStatsDto {
     private long todaySubmissions;
     private long weekSubmissions;
     private long monthSubmissions;
+    // Applications per reviewer decision, from the review overlay
+    private Map<String, Long> reviewStatusCounts;
 }
@@ -17,6 +17,8 @@ public class KycApplicationDto {
 	private EntityType entityType;
 	private Integer currentStep;
 	private Double completionPercentage;
+	private ApplicationStatus reviewStatus;
+	private Long reviewVersion;
 	private String assignedTo;
 	private String reviewNotes;
 	private Instant reviewedAt;
@@ -8,6 +8,7 @@ public class SearchRequest {
     private String status;
     private String onboardingType;
     private String assignedTo;
+    private String reviewStatus;
     private String dateFrom;
     private String dateTo;
 }
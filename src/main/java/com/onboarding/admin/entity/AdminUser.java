@@ -2,6 +2,9 @@ package com.onboarding.admin.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 import java.util.HashSet;
 import java.util.Set;
@@ -26,7 +29,13 @@ public class AdminUser {
     private String fullName;
     private boolean active = true;
     
+    // Bumped whenever the user's access changes; tokens issued for an older value are rejected
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long authVersion;
+    
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "user-profiles")
     @JoinTable(
         name = "admin_user_profiles",
         joinColumns = @JoinColumn(name = "user_id"),
@@ -1,16 +1,24 @@
 package com.onboarding.admin.entity;
 
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "application_reviews")
+@Table(name = "application_reviews", indexes = {
+    @Index(name = "idx_application_reviews_status", columnList = "status")
+})
 public class ApplicationReview {
     @Id
     private String applicationId; // References customer.id from KYC database
     
+    // Reviewer decision, kept here because the KYC database is read-only
+    @Enumerated(EnumType.STRING)
+    private ApplicationStatus status;
+    
     private String assignedTo;
     
     @Column(columnDefinition = "TEXT")
@@ -19,4 +27,10 @@ public class ApplicationReview {
     private Instant reviewedAt;
     private Instant createdAt = Instant.now();
     private Instant updatedAt = Instant.now();
+    
+    // Incremented on every change so concurrent reviewers can't overwrite each other
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long version;
 }
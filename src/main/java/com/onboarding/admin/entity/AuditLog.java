@@ -6,7 +6,14 @@ import java.time.Instant;
 
 @Data
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    // Each filter of the audit log query, followed by the keyset order
+    @Index(name = "idx_audit_logs_resource_id_ts", columnList = "resourceId, timestamp, id"),
+    @Index(name = "idx_audit_logs_resource_ts", columnList = "resource, timestamp, id"),
+    @Index(name = "idx_audit_logs_username_ts", columnList = "username, timestamp, id"),
+    @Index(name = "idx_audit_logs_action_ts", columnList = "action, timestamp, id"),
+    @Index(name = "idx_audit_logs_ts", columnList = "timestamp, id")
+})
 public class AuditLog {
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
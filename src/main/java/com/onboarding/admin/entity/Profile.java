@@ -2,11 +2,15 @@ package com.onboarding.admin.entity;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Data
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profiles")
 @Table(name = "profiles")
 public class Profile {
     @Id
@@ -20,6 +24,7 @@ public class Profile {
     private boolean active = true;
     
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "profile-permissions")
     @JoinTable(
         name = "profile_permissions",
         joinColumns = @JoinColumn(name = "profile_id"),
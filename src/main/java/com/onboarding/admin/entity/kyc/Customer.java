@@ -11,6 +11,8 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
 import lombok.Data;
@@ -18,7 +20,17 @@ import lombok.Data;
 @Data
 @Entity
 @Table(name = "customers")
+@NamedEntityGraph(name = Customer.DETAIL_GRAPH, attributeNodes = {
+		@NamedAttributeNode("personalInfo"),
+		@NamedAttributeNode("employmentInfo"),
+		@NamedAttributeNode("generalInfo"),
+		@NamedAttributeNode("fatcaInfo"),
+		@NamedAttributeNode("bankInfo") })
 public class Customer {
+	public static final String DETAIL_GRAPH = "Customer.detail";
+
+	private static final int TOTAL_STEPS = 7;
+
 	@Id
 	@GeneratedValue(strategy = GenerationType.UUID)
 	private String id;
@@ -60,35 +72,57 @@ public class Customer {
 	private boolean highRisk;
 	private String highRiskReason;
 
-// One-to-one relationships for step entities (EAGER for admin to access data)
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+// One-to-one relationships for step entities (loaded together through DETAIL_GRAPH)
+	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private PersonalInfo personalInfo;
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private EmploymentInfo employmentInfo;
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private GeneralInfo generalInfo;
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private FatcaInfo fatcaInfo;
 
-	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+	@OneToOne(cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
 	private BankInfo bankInfo;
 
 	// Helper methods for admin display
 	public String getFullName() {
 		if (personalInfo != null) {
-			return String
-					.format("%s %s %s %s", personalInfo.getFirstName() != null ? personalInfo.getFirstName() : "",
-							personalInfo.getSecondName() != null ? personalInfo.getSecondName() : "",
-							personalInfo.getLastName() != null ? personalInfo.getLastName() : "",
-							personalInfo.getFamilyName() != null ? personalInfo.getFamilyName() : "")
-					.trim().replaceAll("\\s+", " ");
+			return fullName(personalInfo.getFirstName(), personalInfo.getSecondName(), personalInfo.getLastName(),
+					personalInfo.getFamilyName());
 		}
 		return username;
 	}
 
+	/**
+	 * Joins the non-null name parts with single spaces.
+	 */
+	public static String fullName(String... parts) {
+		StringBuilder name = new StringBuilder();
+		for (String part : parts) {
+			if (part == null) {
+				continue;
+			}
+			boolean space = name.length() > 0;
+			for (int i = 0; i < part.length(); i++) {
+				char c = part.charAt(i);
+				if (Character.isWhitespace(c)) {
+					space = name.length() > 0;
+				} else {
+					if (space) {
+						name.append(' ');
+						space = false;
+					}
+					name.append(c);
+				}
+			}
+		}
+		return name.toString();
+	}
+
 	public String getEmail() {
 		// Email might be in contact info or other location - adjust as needed
 		return null;
@@ -99,8 +133,11 @@ public class Customer {
 	}
 
 	public Double getCompletionPercentage() {
-		int totalSteps = 7;
-		return (currentStep / (double) totalSteps) * 100.0;
+		return completionPercentage(currentStep);
+	}
+
+	public static Double completionPercentage(Integer currentStep) {
+		return (currentStep / (double) TOTAL_STEPS) * 100.0;
 	}
 
 
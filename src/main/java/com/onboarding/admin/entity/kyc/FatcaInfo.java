@@ -6,7 +6,6 @@ import java.util.List;
 import jakarta.persistence.CollectionTable;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
-import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
@@ -28,7 +27,7 @@ public class FatcaInfo {
 	private String usTin;
 
 	// Tax Residency
-	@ElementCollection(fetch = FetchType.EAGER)
+	@ElementCollection
 	@CollectionTable(name = "fatca_tax_residencies", joinColumns = @JoinColumn(name = "fatca_info_id"))
 	private List<TaxResidency> taxResidency = new ArrayList<>();
 
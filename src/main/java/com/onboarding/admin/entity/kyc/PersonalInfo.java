@@ -45,7 +45,7 @@ public class PersonalInfo {
 	private String approximateAnnualIncome; // Approximate annual income range (e.g., "100000-200000")
 	private String approximateNetWorth; // Approximate net worth range (e.g., "500000-1000000")
 
-	@ElementCollection(fetch = jakarta.persistence.FetchType.EAGER)
+	@ElementCollection
 	@CollectionTable(name = "personal_info_income_sources", joinColumns = @JoinColumn(name = "personal_info_id"))
 	@Column(name = "income_source")
 	private List<String> incomeSources;
@@ -2,8 +2,12 @@ package com.onboarding.admin.repository;
 
 import com.onboarding.admin.entity.AdminUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface AdminUserRepository extends JpaRepository<AdminUser, String> {
@@ -11,4 +15,17 @@ public interface AdminUserRepository extends JpaRepository<AdminUser, String> {
     Optional<AdminUser> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+    
+    @Query("select u.authVersion from AdminUser u where u.username = :username and u.active = true")
+    Optional<Long> findActiveAuthVersion(String username);
+    
+    // Read from the tables rather than the entity caches, so changes made directly in the database count
+    @Query("select p.name from AdminUser u join u.profiles pr join pr.permissions p where u.username = :username")
+    Set<String> findPermissionNames(String username);
+    
+    // Only replaces the hash it was computed from, leaving every other column as it is now
+    @Transactional
+    @Modifying
+    @Query("update AdminUser u set u.passwordHash = :hash where u.id = :id and u.passwordHash = :oldHash")
+    int updatePasswordHash(String id, String oldHash, String hash);
 }
@@ -1,12 +1,36 @@
 package com.onboarding.admin.repository;
 
 import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ApplicationReviewRepository extends JpaRepository<ApplicationReview, String> {
     Optional<ApplicationReview> findByApplicationId(String applicationId);
+    List<ApplicationReview> findByApplicationIdIn(Collection<String> applicationIds);
+    
+    // A null assignee or status matches any
+    @Query("select r.applicationId from ApplicationReview r where r.applicationId > :after "
+            + "and (:assignedTo is null or r.assignedTo = :assignedTo) and (:status is null or r.status = :status) "
+            + "order by r.applicationId")
+    List<String> findApplicationIdsAfter(String after, String assignedTo, ApplicationStatus status, Pageable pageable);
+    
+    @Query("select r.applicationId from ApplicationReview r where r.applicationId in :applicationIds "
+            + "and (:assignedTo is null or r.assignedTo = :assignedTo) and (:status is null or r.status = :status)")
+    List<String> findMatchingApplicationIds(Collection<String> applicationIds, String assignedTo,
+            ApplicationStatus status);
+    
+    Page<ApplicationReview> findByStatus(ApplicationStatus status, Pageable pageable);
+    
+    @Query("select r.status as status, count(r) as total from ApplicationReview r "
+            + "where r.status is not null group by r.status")
+    List<ReviewStatusCount> countByStatus();
 }
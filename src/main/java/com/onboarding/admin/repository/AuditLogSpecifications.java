@@ -0,0 +1,57 @@
+package com.onboarding.admin.repository;
+
+import com.onboarding.admin.entity.AuditLog;
+import jakarta.persistence.criteria.Expression;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.Instant;
+
+/**
+ * Reusable predicates for querying {@link AuditLog}s. Each equality filter
+ * leads one of the composite indexes declared on the entity.
+ */
+public final class AuditLogSpecifications {
+    
+    private AuditLogSpecifications() {
+    }
+    
+    public static Specification<AuditLog> hasResource(String resource) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("resource"), resource);
+    }
+    
+    public static Specification<AuditLog> hasResourceId(String resourceId) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("resourceId"), resourceId);
+    }
+    
+    public static Specification<AuditLog> hasUsername(String username) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("username"), username);
+    }
+    
+    public static Specification<AuditLog> hasAction(String action) {
+        return (root, criteriaQuery, cb) -> cb.equal(root.get("action"), action);
+    }
+    
+    public static Specification<AuditLog> loggedFrom(Instant from) {
+        return (root, criteriaQuery, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), from);
+    }
+    
+    public static Specification<AuditLog> loggedBefore(Instant before) {
+        return (root, criteriaQuery, cb) -> cb.lessThan(root.get("timestamp"), before);
+    }
+    
+    /**
+     * Seek predicate for keyset pagination ordered by {@code (timestamp, id)}
+     * descending: only rows strictly after the given position are returned.
+     */
+    public static Specification<AuditLog> after(Instant timestamp, String id) {
+        return (root, criteriaQuery, cb) -> {
+            Expression<Instant> logged = root.get("timestamp");
+            // The redundant upper bound lets Postgres range-scan the index instead of filtering it
+            return cb.and(
+                    cb.lessThanOrEqualTo(logged, timestamp),
+                    cb.or(
+                            cb.lessThan(logged, timestamp),
+                            cb.and(cb.equal(logged, timestamp), cb.lessThan(root.get("id"), id))));
+        };
+    }
+}
@@ -0,0 +1,13 @@
+package com.onboarding.admin.repository;
+
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+
+/**
+ * Number of applications whose review is in one status.
+ */
+public interface ReviewStatusCount {
+    
+    ApplicationStatus getStatus();
+    
+    long getTotal();
+}
@@ -3,10 +3,61 @@ package com.onboarding.admin.repository.kyc;
 import com.onboarding.admin.entity.kyc.Customer;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 @Repository
-public interface CustomerRepository extends JpaRepository<Customer, String> {
+public interface CustomerRepository extends JpaRepository<Customer, String>, JpaSpecificationExecutor<Customer>,
+        CustomerSummaryQueries {
     Page<Customer> findByPartyStatus(String partyStatus, Pageable pageable);
+    
+    @EntityGraph(Customer.DETAIL_GRAPH)
+    Optional<Customer> findWithDetailsById(String id);
+    
+    @Query("select c.id from Customer c where c.id in :ids")
+    List<String> findExistingIds(Collection<String> ids);
+    
+    @Query(value = "select c.application_status as status, c.entity_type as entityType, "
+            + "case when c.created_at >= :since then cast(date_trunc('day', c.created_at at time zone :zone) as date) end as day, "
+            + "count(*) as total, coalesce(sum(c.current_step), 0) as steps "
+            + "from customers c where c.created_at is null or c.created_at <= :until "
+            + "group by 1, 2, 3", nativeQuery = true)
+    List<SubmissionBucket> aggregateSubmissions(Instant since, Instant until, String zone);
+    
+    @Query("select c.applicationStatus as status, c.entityType as entityType, c.createdAt as createdAt, "
+            + "c.currentStep as currentStep from Customer c where c.createdAt > :after order by c.createdAt")
+    List<SubmissionRow> findSubmissionsCreatedAfter(Instant after);
+    
+    // Text form of the snapshot the current transaction reads under, xmin:xmax:xip,...
+    @Query(value = "select cast(pg_current_snapshot() as text)", nativeQuery = true)
+    String currentSnapshot();
+    
+    String SEARCH_FIELDS = "select c.id as id, c.username as username, c.mobile as mobile, c.idNumber as idNumber, "
+            + "p.firstName as firstName, p.secondName as secondName, p.lastName as lastName, "
+            + "p.familyName as familyName, p.fullNameAr as fullNameAr, c.createdAt as createdAt "
+            + "from Customer c left join c.personalInfo p";
+    
+    @Query(SEARCH_FIELDS)
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    Stream<CustomerSearchFields> streamSearchFields();
+    
+    @Query(SEARCH_FIELDS + " where c.createdAt > :after order by c.createdAt")
+    List<CustomerSearchFields> findSearchFieldsCreatedAfter(Instant after);
+    
+    @Query(SEARCH_FIELDS + " where c.id in :ids")
+    List<CustomerSearchFields> findSearchFieldsByIdIn(Collection<String> ids);
 }
@@ -0,0 +1,29 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.time.Instant;
+
+/**
+ * Columns the applicant search index is built from.
+ */
+public interface CustomerSearchFields {
+
+	String getId();
+
+	String getUsername();
+
+	String getMobile();
+
+	String getIdNumber();
+
+	String getFirstName();
+
+	String getSecondName();
+
+	String getLastName();
+
+	String getFamilyName();
+
+	String getFullNameAr();
+
+	Instant getCreatedAt();
+}
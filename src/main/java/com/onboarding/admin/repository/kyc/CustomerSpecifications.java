@@ -0,0 +1,130 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.EntityType;
+import com.onboarding.admin.entity.kyc.PersonalInfo;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+/**
+ * Reusable predicates for querying {@link Customer}s in the KYC database.
+ */
+public final class CustomerSpecifications {
+
+	private static final char LIKE_ESCAPE = '\\';
+
+	private CustomerSpecifications() {
+	}
+
+	/**
+	 * Every whitespace separated term must appear in one of the applicant's names,
+	 * username, mobile, ID number or customer id.
+	 */
+	public static Specification<Customer> matchesQuery(String query) {
+		return (root, criteriaQuery, cb) -> {
+			Join<Customer, PersonalInfo> personalInfo = personalInfo(root);
+			List<Predicate> terms = new ArrayList<>();
+			for (String term : query.trim().toLowerCase().split("\\s+")) {
+				String pattern = "%" + escapeLike(term) + "%";
+				terms.add(cb.or(
+						containsIgnoreCase(cb, personalInfo.get("firstName"), pattern),
+						containsIgnoreCase(cb, personalInfo.get("secondName"), pattern),
+						containsIgnoreCase(cb, personalInfo.get("lastName"), pattern),
+						containsIgnoreCase(cb, personalInfo.get("familyName"), pattern),
+						cb.like(personalInfo.get("fullNameAr"), pattern, LIKE_ESCAPE),
+						containsIgnoreCase(cb, root.get("username"), pattern),
+						cb.like(root.get("mobile"), pattern, LIKE_ESCAPE),
+						cb.like(root.get("idNumber"), pattern, LIKE_ESCAPE),
+						containsIgnoreCase(cb, root.get("id"), pattern)));
+			}
+			return cb.and(terms.toArray(Predicate[]::new));
+		};
+	}
+
+	/**
+	 * Exact match on the customer id, mobile or ID number, each of which is
+	 * uniquely indexed.
+	 */
+	public static Specification<Customer> hasIdentifier(String value) {
+		return (root, criteriaQuery, cb) -> cb.or(
+				cb.equal(root.get("id"), value),
+				cb.equal(root.get("mobile"), value),
+				cb.equal(root.get("idNumber"), value));
+	}
+
+	public static Specification<Customer> hasStatus(ApplicationStatus status) {
+		return (root, criteriaQuery, cb) -> cb.equal(root.get("applicationStatus"), status);
+	}
+
+	public static Specification<Customer> hasEntityType(EntityType entityType) {
+		return (root, criteriaQuery, cb) -> cb.equal(root.get("entityType"), entityType);
+	}
+
+	public static Specification<Customer> createdFrom(Instant from) {
+		return (root, criteriaQuery, cb) -> cb.greaterThanOrEqualTo(root.get("createdAt"), from);
+	}
+
+	public static Specification<Customer> createdBefore(Instant before) {
+		return (root, criteriaQuery, cb) -> cb.lessThan(root.get("createdAt"), before);
+	}
+
+	public static Specification<Customer> idIn(Collection<String> ids) {
+		return (root, criteriaQuery, cb) -> root.get("id").in(ids);
+	}
+
+	/**
+	 * Seek predicate for keyset pagination ordered by {@code (createdAt, id)}
+	 * descending: only rows strictly after the given position are returned.
+	 * Relies on the index from {@code db/kyc/customers_keyset_index.sql}.
+	 */
+	public static Specification<Customer> after(Instant createdAt, String id) {
+		return (root, criteriaQuery, cb) -> {
+			Expression<Instant> created = root.get("createdAt");
+			// Postgres only applies the OR as a filter; the redundant bound gives the index scan a start
+			return cb.and(
+					cb.lessThanOrEqualTo(created, createdAt),
+					cb.or(
+							cb.lessThan(created, createdAt),
+							cb.and(cb.equal(created, createdAt), cb.lessThan(root.get("id"), id))));
+		};
+	}
+
+	public static Specification<Customer> none() {
+		return (root, criteriaQuery, cb) -> cb.disjunction();
+	}
+
+	public static Specification<Customer> hasCreatedAt() {
+		return (root, criteriaQuery, cb) -> cb.isNotNull(root.get("createdAt"));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Join<Customer, PersonalInfo> personalInfo(Root<Customer> root) {
+		for (Join<Customer, ?> join : root.getJoins()) {
+			if ("personalInfo".equals(join.getAttribute().getName())) {
+				return (Join<Customer, PersonalInfo>) join;
+			}
+		}
+		return root.join("personalInfo", JoinType.LEFT);
+	}
+
+	private static Predicate containsIgnoreCase(CriteriaBuilder cb, Expression<String> field, String pattern) {
+		return cb.like(cb.lower(field), pattern, LIKE_ESCAPE);
+	}
+
+	private static String escapeLike(String value) {
+		return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+}
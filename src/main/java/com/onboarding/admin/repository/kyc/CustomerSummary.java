@@ -0,0 +1,33 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.time.Instant;
+
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.EntityType;
+
+/**
+ * The customer columns shown in application lists, read without loading the
+ * step entities.
+ */
+public record CustomerSummary(
+		String id,
+		String username,
+		String mobile,
+		ApplicationStatus applicationStatus,
+		EntityType entityType,
+		Integer currentStep,
+		Instant createdAt,
+		String personalInfoId,
+		String firstName,
+		String secondName,
+		String lastName,
+		String familyName) {
+
+	public String fullName() {
+		if (personalInfoId != null) {
+			return Customer.fullName(firstName, secondName, lastName, familyName);
+		}
+		return username;
+	}
+}
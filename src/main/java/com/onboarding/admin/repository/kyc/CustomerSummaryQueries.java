@@ -0,0 +1,31 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import com.onboarding.admin.entity.kyc.Customer;
+
+/**
+ * {@link CustomerSummary} queries for list and search views. A {@code null}
+ * specification matches every customer.
+ */
+public interface CustomerSummaryQueries {
+
+	Page<CustomerSummary> findSummaries(Specification<Customer> spec, Pageable pageable);
+
+	List<CustomerSummary> findSummaries(Specification<Customer> spec, Sort sort, int limit);
+
+	Optional<CustomerSummary> findSummaryById(String id);
+
+	/**
+	 * Forward-only stream over every match, fetched {@code fetchSize} rows at a
+	 * time. Must be consumed and closed inside a transaction.
+	 */
+	Stream<CustomerSummary> streamSummaries(Specification<Customer> spec, Sort sort, int fetchSize);
+}
@@ -0,0 +1,112 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.hibernate.jpa.HibernateHints;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.PersonalInfo;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+class CustomerSummaryQueriesImpl implements CustomerSummaryQueries {
+
+	@PersistenceContext(unitName = "kyc")
+	private EntityManager entityManager;
+
+	@Override
+	public Page<CustomerSummary> findSummaries(Specification<Customer> spec, Pageable pageable) {
+		List<CustomerSummary> content = pageable.isPaged()
+				? select(spec, pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+				: select(spec, pageable.getSort(), 0, -1);
+		return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+	}
+
+	@Override
+	public List<CustomerSummary> findSummaries(Specification<Customer> spec, Sort sort, int limit) {
+		return select(spec, sort, 0, limit);
+	}
+
+	@Override
+	public Optional<CustomerSummary> findSummaryById(String id) {
+		return select(CustomerSpecifications.idIn(List.of(id)), Sort.unsorted(), 0, 1).stream().findFirst();
+	}
+
+	@Override
+	public Stream<CustomerSummary> streamSummaries(Specification<Customer> spec, Sort sort, int fetchSize) {
+		return createQuery(spec, sort)
+				.setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+				.getResultStream();
+	}
+
+	private List<CustomerSummary> select(Specification<Customer> spec, Sort sort, long offset, int limit) {
+		TypedQuery<CustomerSummary> typedQuery = createQuery(spec, sort);
+		if (offset > 0) {
+			typedQuery.setFirstResult((int) offset);
+		}
+		if (limit >= 0) {
+			typedQuery.setMaxResults(limit);
+		}
+		return typedQuery.getResultList();
+	}
+
+	private TypedQuery<CustomerSummary> createQuery(Specification<Customer> spec, Sort sort) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<CustomerSummary> query = cb.createQuery(CustomerSummary.class);
+		Root<Customer> root = query.from(Customer.class);
+		// Joined up front so name filters in the specification reuse it
+		Join<Customer, PersonalInfo> personalInfo = root.join("personalInfo", JoinType.LEFT);
+		query.select(cb.construct(CustomerSummary.class,
+				root.get("id"),
+				root.get("username"),
+				root.get("mobile"),
+				root.get("applicationStatus"),
+				root.get("entityType"),
+				root.get("currentStep"),
+				root.get("createdAt"),
+				personalInfo.get("id"),
+				personalInfo.get("firstName"),
+				personalInfo.get("secondName"),
+				personalInfo.get("lastName"),
+				personalInfo.get("familyName")));
+		applySpecification(spec, root, query, cb);
+		query.orderBy(QueryUtils.toOrders(sort, root, cb));
+		return entityManager.createQuery(query);
+	}
+
+	private long count(Specification<Customer> spec) {
+		CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+		CriteriaQuery<Long> query = cb.createQuery(Long.class);
+		Root<Customer> root = query.from(Customer.class);
+		query.select(cb.count(root));
+		applySpecification(spec, root, query, cb);
+		return entityManager.createQuery(query).getSingleResult();
+	}
+
+	private static void applySpecification(Specification<Customer> spec, Root<Customer> root, CriteriaQuery<?> query,
+			CriteriaBuilder cb) {
+		if (spec != null) {
+			Predicate predicate = spec.toPredicate(root, query, cb);
+			if (predicate != null) {
+				query.where(predicate);
+			}
+		}
+	}
+}
@@ -0,0 +1,20 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.time.LocalDate;
+
+/**
+ * Customer counts for one (status, entity type, creation day) group. The day
+ * is only set for recent submissions and {@code null} for older ones.
+ */
+public interface SubmissionBucket {
+
+	String getStatus();
+
+	String getEntityType();
+
+	LocalDate getDay();
+
+	long getTotal();
+
+	long getSteps();
+}
@@ -0,0 +1,20 @@
+package com.onboarding.admin.repository.kyc;
+
+import java.time.Instant;
+
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.entity.kyc.EntityType;
+
+/**
+ * The customer columns the statistics counters are keyed on.
+ */
+public interface SubmissionRow {
+
+	ApplicationStatus getStatus();
+
+	EntityType getEntityType();
+
+	Instant getCreatedAt();
+
+	Integer getCurrentStep();
+}
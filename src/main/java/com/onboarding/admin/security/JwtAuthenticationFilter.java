@@ -4,22 +4,26 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import com.onboarding.admin.service.AdminUserDetailsService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import java.io.IOException;
+import java.util.List;
 
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
     
     private final JwtUtil jwtUtil;
-    private final UserDetailsService userDetailsService;
+    private final AdminUserDetailsService userDetailsService;
     
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, 
@@ -40,14 +44,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
             
             try {
-                if (jwtUtil.validateToken(token)) {
-                    String username = jwtUtil.extractUsername(token);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                    
-                    UsernamePasswordAuthenticationToken authentication = 
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                JwtUtil.VerifiedToken verified = jwtUtil.verify(token).orElse(null);
+                UsernamePasswordAuthenticationToken authentication = null;
+                if (verified != null) {
+                    authentication = verified.hasPermissions()
+                        ? authenticationFromClaims(verified)
+                        : authenticationFromUser(verified.username());
+                }
+                if (authentication != null) {
                     authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-                    
                     SecurityContextHolder.getContext().setAuthentication(authentication);
                 }
             } catch (Exception e) {
@@ -58,4 +63,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         
         filterChain.doFilter(request, response);
     }
+    
+    private UsernamePasswordAuthenticationToken authenticationFromUser(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+    
+    private UsernamePasswordAuthenticationToken authenticationFromClaims(JwtUtil.VerifiedToken verified) {
+        // Rejects tokens of users deactivated or deleted since, or whose permissions no longer match the claims
+        if (!userDetailsService.isCurrent(verified.username(), verified.authVersion(), verified.permissions())) {
+            return null;
+        }
+        List<GrantedAuthority> authorities = verified.permissions().stream()
+            .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+            .toList();
+        UserDetails principal = User.withUsername(verified.username())
+            .password("")
+            .authorities(authorities)
+            .build();
+        return new UsernamePasswordAuthenticationToken(principal, null, authorities);
+    }
 }
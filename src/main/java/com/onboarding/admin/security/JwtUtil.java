@@ -1,52 +1,131 @@
 package com.onboarding.admin.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import java.security.Key;
+import java.time.Instant;
+import java.util.Collection;
 import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtil {
     
+    static final String PERMISSIONS_CLAIM = "perms";
+    static final String AUTH_VERSION_CLAIM = "ver";
+    
     @Value("${jwt.secret}")
     private String secret;
     
     @Value("${jwt.expiration}")
     private Long expiration;
     
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(secret.getBytes());
+    // Sign permissions and the user's auth version into the token so requests need no user lookup
+    @Value("${jwt.embed-permissions:false}")
+    private boolean embedPermissions;
+    
+    // Recently verified tokens by signature; 0 disables the cache
+    @Value("${jwt.verified-cache.size:10000}")
+    private long verifiedCacheSize;
+    
+    private Key signingKey;
+    private JwtParser parser;
+    private Cache<String, VerifiedToken> verifiedTokens;
+    
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(secret.getBytes());
+        parser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        if (verifiedCacheSize > 0) {
+            verifiedTokens = Caffeine.newBuilder()
+                    .maximumSize(verifiedCacheSize)
+                    .build();
+        }
     }
     
-    public String generateToken(String username) {
-        return Jwts.builder()
+    public String generateToken(String username, Collection<String> permissions, long authVersion) {
+        JwtBuilder builder = Jwts.builder()
                 .setSubject(username)
                 .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + expiration));
+        if (embedPermissions) {
+            builder.claim(PERMISSIONS_CLAIM, List.copyOf(permissions))
+                    .claim(AUTH_VERSION_CLAIM, authVersion);
+        }
+        return builder
+                .signWith(signingKey, SignatureAlgorithm.HS256)
                 .compact();
     }
     
-    public String extractUsername(String token) {
-        return extractClaims(token).getSubject();
-    }
-    
-    public boolean validateToken(String token) {
+    /**
+     * Checks the token's signature and expiry, parsing it at most once while
+     * it stays in the verified-token cache.
+     */
+    public Optional<VerifiedToken> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        if (verifiedTokens != null) {
+            VerifiedToken cached = verifiedTokens.getIfPresent(signature);
+            // Compare the whole token so a reused signature can't vouch for another header or payload
+            if (cached != null && cached.token().equals(token)) {
+                if (cached.expiresAt().isAfter(Instant.now())) {
+                    return Optional.of(cached);
+                }
+                verifiedTokens.invalidate(signature);
+                return Optional.empty();
+            }
+        }
+        
+        VerifiedToken verified;
         try {
-            extractClaims(token);
-            return true;
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            Instant expiresAt = claims.getExpiration() != null ? claims.getExpiration().toInstant() : Instant.MAX;
+            verified = new VerifiedToken(token, claims.getSubject(), claims, expiresAt,
+                    permissions(claims), authVersion(claims));
         } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            return Optional.empty();
+        }
+        if (verifiedTokens != null) {
+            verifiedTokens.put(signature, verified);
+        }
+        return Optional.of(verified);
+    }
+    
+    private static Set<String> permissions(Claims claims) {
+        Object permissions = claims.get(PERMISSIONS_CLAIM);
+        if (!(permissions instanceof Collection<?> values)) {
+            return null;
         }
+        return values.stream()
+                .map(String::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+    
+    private static Long authVersion(Claims claims) {
+        return claims.get(AUTH_VERSION_CLAIM) instanceof Number version ? version.longValue() : null;
     }
     
-    private Claims extractClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    /**
+     * A token whose signature and expiry have been checked. {@code permissions}
+     * and {@code authVersion} are {@code null} unless they were embedded.
+     */
+    public record VerifiedToken(String token, String username, Claims claims, Instant expiresAt,
+            Set<String> permissions, Long authVersion) {
+        
+        public boolean hasPermissions() {
+            return permissions != null && authVersion != null;
+        }
     }
 }
@@ -30,6 +30,9 @@ public class SecurityConfig {
 	@Value("${cors.allowed-origins}")
 	private String allowedOrigins;
 
+	@Value("${security.bcrypt.strength:10}")
+	private int bcryptStrength;
+
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
 		http.csrf(csrf -> csrf.disable()).cors(cors -> cors.configurationSource(corsConfigurationSource()))
@@ -60,7 +63,7 @@ public class SecurityConfig {
 
 	@Bean
 	public PasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+		return new BCryptPasswordEncoder(bcryptStrength);
 	}
 
 	@Bean
@@ -4,7 +4,11 @@ import com.onboarding.admin.entity.AdminUser;
 import com.onboarding.admin.entity.Permission;
 import com.onboarding.admin.entity.Profile;
 import com.onboarding.admin.repository.AdminUserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
@@ -12,9 +16,12 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.Duration;
 import java.util.HashSet;
+import java.util.Optional;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +29,70 @@ public class AdminUserDetailsService implements UserDetailsService {
     
     private final AdminUserRepository adminUserRepository;
     
+    @Value("${security.principal-cache.ttl:PT5M}")
+    private Duration principalCacheTtl;
+    
+    @Value("${security.principal-cache.max-size:1000}")
+    private long principalCacheSize;
+    
+    @Value("${security.auth-version-cache.ttl:PT30S}")
+    private Duration authVersionCacheTtl;
+    
+    // Active users with their authorities, so authenticated requests don't query the admin database
+    private Cache<String, CachedPrincipal> principals;
+    
+    // Current auth version and permissions of active users, empty for inactive or unknown ones
+    private Cache<String, Optional<AuthState>> authStates;
+    
+    @PostConstruct
+    void initCache() {
+        principals = Caffeine.newBuilder()
+                .expireAfterWrite(principalCacheTtl)
+                .maximumSize(principalCacheSize)
+                .build();
+        authStates = Caffeine.newBuilder()
+                .expireAfterWrite(authVersionCacheTtl)
+                .maximumSize(principalCacheSize)
+                .build();
+    }
+    
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        CachedPrincipal principal = principals.get(username, this::loadPrincipal);
+        
+        // A new User per call: authentication erases the credentials of the instance it returns
+        return User.builder()
+                .username(principal.username())
+                .password(principal.passwordHash())
+                .authorities(principal.authorities())
+                .build();
+    }
+    
+    /**
+     * Whether the user is active, {@code authVersion} is their current auth
+     * version and {@code permissions} are exactly what their profiles grant
+     * now. Other nodes, and profile or permission changes made directly in the
+     * database, are seen once the short-lived cache entry expires.
+     */
+    public boolean isCurrent(String username, Long authVersion, Set<String> permissions) {
+        Optional<AuthState> current = authStates.get(username, this::loadAuthState);
+        return current.isPresent()
+                && current.get().authVersion().equals(authVersion)
+                && current.get().permissions().equals(permissions);
+    }
+    
+    /**
+     * Drops the cached principal once the current transaction commits, so the
+     * next request reloads the user's status and authorities.
+     */
+    public void evict(String username) {
+        runAfterCommit(() -> {
+            principals.invalidate(username);
+            authStates.invalidate(username);
+        });
+    }
+    
+    private CachedPrincipal loadPrincipal(String username) {
         AdminUser adminUser = adminUserRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
         
@@ -31,13 +100,27 @@ public class AdminUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User is inactive: " + username);
         }
         
-        Set<GrantedAuthority> authorities = getAuthorities(adminUser);
-        
-        return User.builder()
-                .username(adminUser.getUsername())
-                .password(adminUser.getPasswordHash())
-                .authorities(authorities)
-                .build();
+        return new CachedPrincipal(adminUser.getUsername(), adminUser.getPasswordHash(),
+                Set.copyOf(getAuthorities(adminUser)));
+    }
+    
+    private Optional<AuthState> loadAuthState(String username) {
+        return adminUserRepository.findActiveAuthVersion(username)
+                .map(authVersion -> new AuthState(authVersion,
+                        Set.copyOf(adminUserRepository.findPermissionNames(username))));
+    }
+    
+    private void runAfterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
     }
     
     private Set<GrantedAuthority> getAuthorities(AdminUser adminUser) {
@@ -52,13 +135,17 @@ public class AdminUserDetailsService implements UserDetailsService {
         return authorities;
     }
     
+    /**
+     * The user's permissions as currently stored, the set that tokens with
+     * embedded permissions are checked against.
+     */
     public Set<String> getUserPermissions(String username) {
-        AdminUser adminUser = adminUserRepository.findByUsername(username)
-                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
-        
-        return adminUser.getProfiles().stream()
-                .flatMap(profile -> profile.getPermissions().stream())
-                .map(Permission::getName)
-                .collect(Collectors.toSet());
+        return Set.copyOf(adminUserRepository.findPermissionNames(username));
+    }
+    
+    private record CachedPrincipal(String username, String passwordHash, Set<GrantedAuthority> authorities) {
+    }
+    
+    private record AuthState(Long authVersion, Set<String> permissions) {
     }
 }
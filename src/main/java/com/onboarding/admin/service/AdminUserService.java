@@ -23,6 +23,7 @@ public class AdminUserService {
     private final AdminUserRepository adminUserRepository;
     private final ProfileRepository profileRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AdminUserDetailsService userDetailsService;
     
     public List<AdminUserDto> getAllUsers() {
         return adminUserRepository.findAll().stream()
@@ -71,15 +72,18 @@ public class AdminUserService {
         AdminUser user = adminUserRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("User not found"));
         user.setActive(active);
-        return toDto(adminUserRepository.save(user));
+        user.setAuthVersion(user.getAuthVersion() + 1);
+        AdminUserDto dto = toDto(adminUserRepository.save(user));
+        userDetailsService.evict(user.getUsername());
+        return dto;
     }
     
     @Transactional
     public void deleteUser(String id) {
-        if (!adminUserRepository.existsById(id)) {
-            throw new RuntimeException("User not found");
-        }
-        adminUserRepository.deleteById(id);
+        AdminUser user = adminUserRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        adminUserRepository.delete(user);
+        userDetailsService.evict(user.getUsername());
     }
     
     private AdminUserDto toDto(AdminUser user) {
@@ -0,0 +1,468 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.CustomerSearchFields;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * In-memory inverted index over applicant names (Latin and Arabic), mobile
+ * numbers, ID numbers and customer ids.
+ *
+ * <p>Text is normalized (case, Arabic letter variants and diacritics, Arabic-Indic
+ * digits) and split into tokens. Each distinct token is indexed by its
+ * trigrams, so a query term is resolved to matching tokens with a few sorted
+ * list intersections and then to applicants through the token postings.
+ *
+ * <p>The index is rebuilt periodically from a slim projection of the KYC
+ * database. In between, each refresh re-reads the applicants created within
+ * {@code search.index.recent-window}, whose names are filled in during
+ * onboarding after the customer row is created, and re-indexes the customers
+ * reported by {@link CustomerChangedEvent}. The KYC schema has no
+ * modification time, so without the {@code notify} change feed an older
+ * applicant's edits show up on the next rebuild.
+ *
+ * <p>The index lives in process rather than in {@code pg_trgm} because
+ * trigram matching of Arabic text depends on the KYC database's locale, and
+ * the replicas the searches run on would need the extension too.
+ */
+@Slf4j
+@Component
+public class ApplicantSearchIndex {
+
+    private static final int EXACT = 3;
+    private static final int PREFIX = 2;
+    private static final int CONTAINS = 1;
+
+    private static final int ID_BATCH_SIZE = 1000;
+
+    private final CustomerRepository customerRepository;
+    private final TransactionTemplate kycReadTransaction;
+    // Rebuilds and refreshes run on different scheduler threads
+    private final ReentrantLock updateLock = new ReentrantLock();
+    private final Set<String> changedIds = ConcurrentHashMap.newKeySet();
+
+    @Value("${search.index.enabled:true}")
+    private boolean enabled;
+
+    @Value("${search.index.recent-window:P1D}")
+    private Duration recentWindow;
+
+    private volatile Index index;
+
+    public ApplicantSearchIndex(CustomerRepository customerRepository,
+            @Qualifier("kycTransactionManager") PlatformTransactionManager kycTransactionManager) {
+        this.customerRepository = customerRepository;
+        this.kycReadTransaction = new TransactionTemplate(kycTransactionManager);
+        this.kycReadTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Returns applicant ids matching every term of the query, best matches
+     * first, together with the total number of matches.
+     */
+    public SearchHits search(String query, int limit) {
+        Index current = index;
+        if (current == null) {
+            throw new IllegalStateException("Applicant search index is not ready");
+        }
+        return current.search(tokenize(query), limit);
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.rebuild-interval:PT10M}")
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            long started = System.currentTimeMillis();
+            Index rebuilt = new Index();
+            kycReadTransaction.execute(status -> {
+                try (Stream<CustomerSearchFields> rows = customerRepository.streamSearchFields()) {
+                    rows.forEach(rebuilt::add);
+                }
+                return null;
+            });
+            index = rebuilt;
+            log.info("Applicant search index rebuilt with {} applicants and {} tokens in {} ms",
+                    rebuilt.size(), rebuilt.tokenCount(), System.currentTimeMillis() - started);
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${search.index.refresh-interval:PT30S}",
+            initialDelayString = "${search.index.refresh-interval:PT30S}")
+    public void refresh() {
+        if (!enabled || index == null) {
+            return;
+        }
+        updateLock.lock();
+        try {
+            Index current = index;
+            Instant recent = Instant.now().minus(recentWindow);
+            Instant after = current.watermark().isBefore(recent) ? current.watermark() : recent;
+            List<CustomerSearchFields> rows = new ArrayList<>(customerRepository.findSearchFieldsCreatedAfter(after));
+
+            // Changes reported after this point are picked up by the next refresh
+            List<String> changed = new ArrayList<>(changedIds);
+            changedIds.removeAll(changed);
+            int removed = 0;
+            for (int from = 0; from < changed.size(); from += ID_BATCH_SIZE) {
+                List<String> batch = changed.subList(from, Math.min(from + ID_BATCH_SIZE, changed.size()));
+                List<CustomerSearchFields> found = customerRepository.findSearchFieldsByIdIn(batch);
+                Set<String> gone = new HashSet<>(batch);
+                for (CustomerSearchFields row : found) {
+                    gone.remove(row.getId());
+                }
+                rows.addAll(found);
+                for (String id : gone) {
+                    if (current.remove(id)) {
+                        removed++;
+                    }
+                }
+            }
+
+            int updated = 0;
+            for (CustomerSearchFields row : rows) {
+                if (current.add(row)) {
+                    updated++;
+                }
+            }
+            if (updated > 0 || removed > 0) {
+                log.debug("Updated {} and removed {} applicants in the search index", updated, removed);
+            }
+        } finally {
+            updateLock.unlock();
+        }
+    }
+
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (enabled) {
+            changedIds.add(event.customerId());
+        }
+    }
+
+    public record SearchHits(List<String> ids, int total) {
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder token = new StringBuilder();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            char c = normalize(lower.charAt(i));
+            if (c == 0) {
+                continue;
+            }
+            if (Character.isLetterOrDigit(c)) {
+                token.append(c);
+            } else if (token.length() > 0) {
+                tokens.add(token.toString());
+                token.setLength(0);
+            }
+        }
+        if (token.length() > 0) {
+            tokens.add(token.toString());
+        }
+        return tokens;
+    }
+
+    /**
+     * Folds Arabic letter variants and digits to a canonical form. Returns
+     * {@code 0} for characters that should be dropped (diacritics, tatweel).
+     */
+    private static char normalize(char c) {
+        if ((c >= '\u064B' && c <= '\u065F') || c == '\u0670' || c == '\u0640') {
+            return 0;
+        }
+        if (c >= '\u0660' && c <= '\u0669') {
+            return (char) ('0' + (c - '\u0660'));
+        }
+        if (c >= '\u06F0' && c <= '\u06F9') {
+            return (char) ('0' + (c - '\u06F0'));
+        }
+        return switch (c) {
+            case '\u0622', '\u0623', '\u0625', '\u0671' -> '\u0627'; // alef variants
+            case '\u0649' -> '\u064A'; // alef maksura -> yeh
+            case '\u0629' -> '\u0647'; // teh marbuta -> heh
+            default -> c;
+        };
+    }
+
+    /**
+     * Mutable index; readers and the incremental refresh synchronize on its
+     * lock, full rebuilds replace the whole instance. A re-indexed applicant
+     * gets a new document and the old one is marked deleted.
+     */
+    private static final class Index {
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final List<String> customerIds = new ArrayList<>();
+        private final List<Instant> createdAts = new ArrayList<>();
+        private final List<Long> fingerprints = new ArrayList<>();
+        private final Map<String, Integer> docByCustomer = new HashMap<>();
+        private final BitSet deleted = new BitSet();
+        private final NavigableMap<String, Integer> tokenIds = new TreeMap<>();
+        private final List<String> tokens = new ArrayList<>();
+        private final List<IntList> postings = new ArrayList<>();
+        private final Map<String, IntList> trigrams = new HashMap<>();
+        private Instant watermark = Instant.EPOCH;
+
+        /**
+         * Indexes the applicant, replacing an earlier version. Returns false
+         * if the indexed fields haven't changed.
+         */
+        boolean add(CustomerSearchFields row) {
+            Set<String> docTokens = new LinkedHashSet<>();
+            long fingerprint = 17;
+            for (String field : new String[] { row.getFirstName(), row.getSecondName(), row.getLastName(),
+                    row.getFamilyName(), row.getFullNameAr(), row.getUsername(), row.getMobile(), row.getIdNumber(),
+                    row.getId() }) {
+                docTokens.addAll(tokenize(field));
+                fingerprint = fingerprint(fingerprint, field);
+            }
+            fingerprint = fingerprint(fingerprint, String.valueOf(row.getCreatedAt()));
+
+            lock.writeLock().lock();
+            try {
+                Integer previous = docByCustomer.get(row.getId());
+                if (previous != null) {
+                    if (fingerprints.get(previous) == fingerprint) {
+                        return false;
+                    }
+                    deleted.set(previous);
+                }
+                int doc = customerIds.size();
+                customerIds.add(row.getId());
+                createdAts.add(row.getCreatedAt());
+                fingerprints.add(fingerprint);
+                docByCustomer.put(row.getId(), doc);
+                for (String token : docTokens) {
+                    postings.get(tokenId(token)).add(doc);
+                }
+                if (row.getCreatedAt() != null && row.getCreatedAt().isAfter(watermark)) {
+                    watermark = row.getCreatedAt();
+                }
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean remove(String customerId) {
+            lock.writeLock().lock();
+            try {
+                Integer doc = docByCustomer.remove(customerId);
+                if (doc == null) {
+                    return false;
+                }
+                deleted.set(doc);
+                return true;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        SearchHits search(List<String> terms, int limit) {
+            if (terms.isEmpty()) {
+                return new SearchHits(List.of(), 0);
+            }
+            lock.readLock().lock();
+            try {
+                Map<Integer, Integer> scores = null;
+                for (String term : terms) {
+                    Map<Integer, Integer> termScores = new HashMap<>();
+                    matchTokens(term, (tokenId, quality) -> {
+                        IntList docs = postings.get(tokenId);
+                        for (int i = 0; i < docs.size; i++) {
+                            if (!deleted.get(docs.values[i])) {
+                                termScores.merge(docs.values[i], quality, Math::max);
+                            }
+                        }
+                    });
+                    if (scores == null) {
+                        scores = termScores;
+                    } else {
+                        scores.keySet().retainAll(termScores.keySet());
+                        scores.replaceAll((doc, score) -> score + termScores.get(doc));
+                    }
+                    if (scores.isEmpty()) {
+                        return new SearchHits(List.of(), 0);
+                    }
+                }
+
+                Map<Integer, Integer> ranked = scores;
+                Comparator<Integer> byScore = Comparator.comparing(ranked::get);
+                Comparator<Integer> byCreated = Comparator.comparing(createdAts::get,
+                        Comparator.nullsFirst(Comparator.naturalOrder()));
+                List<String> ids = ranked.keySet().stream()
+                        .sorted(byScore.thenComparing(byCreated).reversed())
+                        .limit(limit)
+                        .map(customerIds::get)
+                        .toList();
+                return new SearchHits(ids, ranked.size());
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        Instant watermark() {
+            lock.readLock().lock();
+            try {
+                return watermark;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        int size() {
+            return docByCustomer.size();
+        }
+
+        int tokenCount() {
+            return tokens.size();
+        }
+
+        private int tokenId(String token) {
+            Integer id = tokenIds.get(token);
+            if (id != null) {
+                return id;
+            }
+            int newId = tokens.size();
+            tokenIds.put(token, newId);
+            tokens.add(token);
+            postings.add(new IntList());
+            for (String trigram : trigramsOf(token)) {
+                trigrams.computeIfAbsent(trigram, key -> new IntList()).add(newId);
+            }
+            return newId;
+        }
+
+        private void matchTokens(String term, TokenMatch match) {
+            if (term.length() < 3) {
+                // Too short for trigrams: prefix scan over the sorted dictionary
+                for (Map.Entry<String, Integer> entry : tokenIds.subMap(term, true, term + Character.MAX_VALUE, false).entrySet()) {
+                    match.accept(entry.getValue(), entry.getKey().equals(term) ? EXACT : PREFIX);
+                }
+                return;
+            }
+
+            IntList[] lists = trigramsOf(term).stream()
+                    .map(trigrams::get)
+                    .toArray(IntList[]::new);
+            if (Arrays.stream(lists).anyMatch(list -> list == null)) {
+                return;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            IntList candidates = lists[0];
+            for (int i = 1; i < lists.length && candidates.size > 0; i++) {
+                candidates = candidates.intersect(lists[i]);
+            }
+            for (int i = 0; i < candidates.size; i++) {
+                String token = tokens.get(candidates.values[i]);
+                if (token.equals(term)) {
+                    match.accept(candidates.values[i], EXACT);
+                } else if (token.startsWith(term)) {
+                    match.accept(candidates.values[i], PREFIX);
+                } else if (token.contains(term)) {
+                    match.accept(candidates.values[i], CONTAINS);
+                }
+            }
+        }
+
+        // 64-bit polynomial hash of the field values, null-aware
+        private static long fingerprint(long hash, String value) {
+            if (value == null) {
+                return hash * 1_000_003L;
+            }
+            for (int i = 0; i < value.length(); i++) {
+                hash = hash * 31 + value.charAt(i);
+            }
+            return hash * 1_000_003L + value.length() + 1;
+        }
+
+        private static Set<String> trigramsOf(String token) {
+            Set<String> result = new LinkedHashSet<>();
+            for (int i = 0; i + 3 <= token.length(); i++) {
+                result.add(token.substring(i, i + 3));
+            }
+            return result;
+        }
+    }
+
+    @FunctionalInterface
+    private interface TokenMatch {
+        void accept(int tokenId, int quality);
+    }
+
+    /**
+     * Growable, ascending list of primitive ints.
+     */
+    private static final class IntList {
+
+        private int[] values = new int[4];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        IntList intersect(IntList other) {
+            IntList result = new IntList();
+            int i = 0;
+            int j = 0;
+            while (i < size && j < other.size) {
+                if (values[i] == other.values[j]) {
+                    result.add(values[i]);
+                    i++;
+                    j++;
+                } else if (values[i] < other.values[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return result;
+        }
+    }
+}
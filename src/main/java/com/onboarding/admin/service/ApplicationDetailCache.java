@@ -0,0 +1,104 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.dto.KycApplicationDto;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Assembled application details by id, kept in the {@value #CACHE_NAME} cache
+ * of whichever {@link CacheManager} {@code spring.cache.type} selects: an
+ * in-process Caffeine cache by default, a shared store such as Redis later.
+ *
+ * <p>Review changes evict their entries once the admin transaction commits.
+ * KYC-side changes evict them when the customer change feed reports them
+ * ({@code statistics.feed.mode=notify}); otherwise entries expire after the
+ * configured TTL.
+ */
+@Component
+public class ApplicationDetailCache {
+    
+    static final String CACHE_NAME = "applicationDetails";
+    
+    private final Cache cache;
+    private final Lock lock = new ReentrantLock();
+    
+    // Bumped on every eviction so loads racing with one don't store their result
+    private volatile long evictions;
+    
+    public ApplicationDetailCache(CacheManager cacheManager) {
+        this.cache = Objects.requireNonNull(cacheManager.getCache(CACHE_NAME),
+                "Cache " + CACHE_NAME + " is not configured");
+    }
+    
+    /**
+     * Returns the cached details or loads them. Loading happens outside the
+     * cache, so no cache lock is held during the queries (a virtual thread would
+     * stay pinned to its carrier while waiting on them); a value loaded while an
+     * entry was evicted may predate that change and is returned but not stored.
+     * Failures such as "not found" are not cached.
+     */
+    public KycApplicationDto get(String id, Supplier<KycApplicationDto> loader) {
+        KycApplicationDto cached = cache.get(id, KycApplicationDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = evictions;
+        KycApplicationDto loaded = loader.get();
+        lock.lock();
+        try {
+            if (evictions == generation) {
+                cache.put(id, loaded);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return loaded;
+    }
+    
+    public void evictAfterCommit(String id) {
+        evictAfterCommit(List.of(id));
+    }
+    
+    /**
+     * Evicts the entries once the current transaction, if any, has committed,
+     * so a concurrent read can't cache the state from before the change.
+     */
+    public void evictAfterCommit(Collection<String> ids) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ids.forEach(ApplicationDetailCache.this::evict);
+                }
+            });
+        } else {
+            ids.forEach(this::evict);
+        }
+    }
+    
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        evict(event.customerId());
+    }
+    
+    private void evict(String id) {
+        lock.lock();
+        try {
+            evictions++;
+            cache.evict(id);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
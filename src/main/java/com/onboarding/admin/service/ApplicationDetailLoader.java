@@ -0,0 +1,62 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.dto.KycApplicationDto;
+import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.repository.ApplicationReviewRepository;
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Loads a full application from both databases at once: the review query goes
+ * to the admin database on the lookup executor while the request thread loads
+ * the customer from the KYC database, so a lookup takes as long as the slower
+ * of the two rather than their sum.
+ */
+@Component
+public class ApplicationDetailLoader {
+    
+    private final CustomerRepository customerRepository;
+    private final ApplicationReviewRepository reviewRepository;
+    private final KycApplicationAssembler assembler;
+    private final Executor lookupExecutor;
+    
+    public ApplicationDetailLoader(CustomerRepository customerRepository, ApplicationReviewRepository reviewRepository,
+            KycApplicationAssembler assembler, @Qualifier("lookupExecutor") Executor lookupExecutor) {
+        this.customerRepository = customerRepository;
+        this.reviewRepository = reviewRepository;
+        this.assembler = assembler;
+        this.lookupExecutor = lookupExecutor;
+    }
+    
+    public KycApplicationDto load(String id) {
+        CompletableFuture<ApplicationReview> review = CompletableFuture.supplyAsync(
+                () -> reviewRepository.findByApplicationId(id).orElse(null), lookupExecutor);
+        Customer customer;
+        try {
+            // Full customer with its step entities; the graph is fetched eagerly, so it maps without a session
+            customer = customerRepository.findWithDetailsById(id)
+                    .orElseThrow(() -> new RuntimeException("Application not found"));
+        } catch (RuntimeException e) {
+            review.cancel(false);
+            throw e;
+        }
+        return assembler.toDto(customer, join(review));
+    }
+    
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.onboarding.admin.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.admin.dto.KycApplicationDto;
+import com.onboarding.admin.dto.SearchRequest;
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Streams search results as CSV or NDJSON.
+ *
+ * <p>Matching customers are read through a forward-only cursor in a read-only
+ * KYC transaction, merged with their reviews one chunk at a time and written
+ * straight to the output, so memory use does not depend on the number of rows.
+ */
+@Slf4j
+@Service
+public class ApplicationExportService {
+    
+    private static final Sort EXPORT_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    
+    private static final String[] CSV_HEADER = { "id", "fullName", "mobileNumber", "applicationStatus", "entityType",
+            "currentStep", "completionPercentage", "assignedTo", "reviewNotes", "reviewedAt", "createdAt" };
+    
+    // Leading characters that make Excel and Sheets treat a cell as a formula
+    private static final String FORMULA_PREFIXES = "=+-@\t\r";
+    
+    private final SearchService searchService;
+    private final CustomerRepository customerRepository;
+    private final KycApplicationAssembler assembler;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate kycReadTransaction;
+    
+    @Value("${export.fetch-size:1000}")
+    private int fetchSize;
+    
+    public ApplicationExportService(SearchService searchService, CustomerRepository customerRepository,
+            KycApplicationAssembler assembler, AuditLogService auditLogService, ObjectMapper objectMapper,
+            @Qualifier("kycTransactionManager") PlatformTransactionManager kycTransactionManager) {
+        this.searchService = searchService;
+        this.customerRepository = customerRepository;
+        this.assembler = assembler;
+        this.auditLogService = auditLogService;
+        this.objectMapper = objectMapper;
+        this.kycReadTransaction = new TransactionTemplate(kycTransactionManager);
+        this.kycReadTransaction.setReadOnly(true);
+    }
+    
+    /**
+     * Validates the filters and records the export; the rows are read once the
+     * returned export is written.
+     */
+    public ApplicationExport prepare(SearchRequest request, ExportFormat format) {
+        SearchService.SearchPlan plan = searchService.plan(request);
+        auditLogService.log("EXPORT", "KYC_APPLICATION", null,
+                String.format("Exported applications as %s with %s", format, request));
+        return out -> write(plan, format, out);
+    }
+    
+    private void write(SearchService.SearchPlan plan, ExportFormat format, OutputStream out) throws IOException {
+        long started = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        if (format == ExportFormat.CSV) {
+            writeCsvRow(writer, CSV_HEADER);
+        }
+        long[] count = new long[1];
+        if (plan != null) {
+            try {
+                kycReadTransaction.executeWithoutResult(status -> {
+                    try (Stream<CustomerSummary> rows = customerRepository.streamSummaries(plan.spec(), EXPORT_SORT, fetchSize)) {
+                        Iterator<CustomerSummary> iterator = rows.iterator();
+                        List<CustomerSummary> chunk = new ArrayList<>(KycApplicationAssembler.REVIEW_BATCH_SIZE);
+                        while (iterator.hasNext()) {
+                            chunk.add(iterator.next());
+                            if (chunk.size() == KycApplicationAssembler.REVIEW_BATCH_SIZE || !iterator.hasNext()) {
+                                List<CustomerSummary> matching = searchService.retainReviewed(plan, chunk);
+                                for (KycApplicationDto dto : assembler.toDtos(matching)) {
+                                    writeRow(writer, format, dto);
+                                }
+                                count[0] += matching.size();
+                                chunk.clear();
+                                writer.flush();
+                            }
+                        }
+                    } catch (IOException e) {
+                        // Typically the client went away; stop reading
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                log.warn("Application export aborted after {} rows: {}", count[0], e.getCause().getMessage());
+                throw e.getCause();
+            }
+        }
+        writer.flush();
+        log.info("Exported {} applications as {} in {} ms", count[0], format, System.currentTimeMillis() - started);
+    }
+    
+    private void writeRow(Writer writer, ExportFormat format, KycApplicationDto dto) throws IOException {
+        if (format == ExportFormat.NDJSON) {
+            writer.write(objectMapper.writeValueAsString(dto));
+            writer.write('\n');
+            return;
+        }
+        writeCsvRow(writer, new Object[] { dto.getId(), dto.getFullName(), dto.getMobileNumber(),
+                dto.getApplicationStatus(), dto.getEntityType(), dto.getCurrentStep(), dto.getCompletionPercentage(),
+                dto.getAssignedTo(), dto.getReviewNotes(), dto.getReviewedAt(), dto.getCreatedAt() });
+    }
+    
+    private static void writeCsvRow(Writer writer, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] instanceof Number) {
+                writer.write(values[i].toString());
+            } else if (values[i] != null) {
+                writer.write(csvField(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+    
+    /**
+     * Quotes fields containing separators, quotes or line breaks (RFC 4180).
+     * Text that a spreadsheet would evaluate as a formula, such as an applicant
+     * named {@code =HYPERLINK(...)}, is prefixed with {@code '} so it stays text.
+     */
+    static String csvField(String value) {
+        if (!value.isEmpty() && FORMULA_PREFIXES.indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+    
+    /**
+     * An export that reads and writes its rows when {@link #writeTo} is called.
+     */
+    @FunctionalInterface
+    public interface ApplicationExport {
+        void writeTo(OutputStream out) throws IOException;
+    }
+    
+    public enum ExportFormat {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson");
+        
+        private final String contentType;
+        private final String extension;
+        
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+        
+        public String contentType() {
+            return contentType;
+        }
+        
+        public String extension() {
+            return extension;
+        }
+        
+        public static ExportFormat parse(String format) {
+            try {
+                return valueOf(format.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Invalid export format: " + format);
+            }
+        }
+    }
+}
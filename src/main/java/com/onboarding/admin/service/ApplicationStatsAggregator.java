@@ -0,0 +1,469 @@
+package com.onboarding.admin.service;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.SubmissionBucket;
+import com.onboarding.admin.repository.kyc.SubmissionRow;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory application counters (by status, entity type and creation day)
+ * shared by the dashboard and statistics endpoints.
+ *
+ * <p>The counters are seeded from one grouped query and then kept current from
+ * a change feed:
+ * <ul>
+ *   <li>{@code poll} (default) picks up newly created customers by
+ *   {@code created_at}. Status and step changes of existing customers are
+ *   folded in by the next reconciliation.</li>
+ *   <li>{@code notify} listens on the {@value #CHANNEL} channel fed by the
+ *   trigger in {@code db/kyc/customer_changes_notify.sql} and applies every
+ *   insert, update and delete as it happens. The listener keeps its own
+ *   connection to the KYC primary, outside the pool.</li>
+ * </ul>
+ * A periodic reconciliation recomputes the counters from the database and
+ * replaces them. It warns only about drift in what the feed maintains: in
+ * {@code poll} mode the creation counts, in {@code notify} mode everything.
+ * Changes notified while the counters are being recomputed are buffered and
+ * applied on top unless the recompute's snapshot already saw their
+ * transaction. Each notified change is also published as a
+ * {@link CustomerChangedEvent}. The seeding, reconciliation and poll queries
+ * run read-only, so they go to a KYC replica when one is configured.
+ */
+@Slf4j
+@Component
+public class ApplicationStatsAggregator {
+    
+    static final String CHANNEL = "customer_changes";
+    
+    // Per-day counters cover the dashboard's 30 days and the statistics' 6 calendar months
+    static final int DAY_WINDOW = 30;
+    static final int MONTH_WINDOW = 6;
+    
+    private static final long RECONNECT_DELAY_MS = 5000;
+    // Upper bound for created_at that still fits a PostgreSQL timestamp
+    private static final Instant NO_WATERMARK = Instant.parse("9999-12-31T00:00:00Z");
+    
+    private final CustomerRepository customerRepository;
+    private final DataSource listenerDataSource;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate kycReadTransaction;
+    
+    @Value("${statistics.time-zone:UTC}")
+    private String timeZone;
+    
+    @Value("${statistics.feed.mode:poll}")
+    private String feedMode;
+    
+    private final ReentrantLock reloadLock = new ReentrantLock();
+    
+    private Counters counters;
+    // Changes notified while a reload is running, null otherwise
+    private List<ChangeEvent> pendingChanges;
+    
+    private volatile boolean listening;
+    private Thread listener;
+    
+    public ApplicationStatsAggregator(CustomerRepository customerRepository,
+            @Qualifier("kycListenerDataSource") DataSource listenerDataSource, ObjectMapper objectMapper,
+            ApplicationEventPublisher eventPublisher,
+            @Qualifier("kycTransactionManager") PlatformTransactionManager kycTransactionManager) {
+        this.customerRepository = customerRepository;
+        this.listenerDataSource = listenerDataSource;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+        this.kycReadTransaction = new TransactionTemplate(kycTransactionManager);
+        this.kycReadTransaction.setReadOnly(true);
+        // The change-feed snapshot and the aggregate must see the same transactions
+        this.kycReadTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+    
+    /**
+     * Immutable copy of the current counters, seeding them first if needed.
+     */
+    public StatsSnapshot snapshot() {
+        synchronized (this) {
+            if (counters != null) {
+                return counters.snapshot(LocalDate.now(zone()));
+            }
+        }
+        reloadLock.lock();
+        try {
+            boolean seeded;
+            synchronized (this) {
+                seeded = counters != null;
+            }
+            if (!seeded) {
+                reload();
+            }
+        } finally {
+            reloadLock.unlock();
+        }
+        synchronized (this) {
+            return counters.snapshot(LocalDate.now(zone()));
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${statistics.feed.reconcile-interval:PT2M}")
+    public void reconcile() {
+        reloadLock.lock();
+        try {
+            reload();
+        } finally {
+            reloadLock.unlock();
+        }
+    }
+    
+    /**
+     * Recomputes the counters and replaces them. Callers hold {@link #reloadLock}.
+     */
+    private void reload() {
+        boolean notify = notifyMode();
+        Loaded loaded;
+        synchronized (this) {
+            if (notify) {
+                pendingChanges = new ArrayList<>();
+            }
+        }
+        try {
+            loaded = load(notify);
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            Counters fresh = loaded.counters();
+            int caughtUp = 0;
+            if (pendingChanges != null) {
+                for (ChangeEvent event : pendingChanges) {
+                    if (!loaded.sees(event.xid())) {
+                        event.applyTo(fresh);
+                        caughtUp++;
+                    }
+                }
+                pendingChanges = null;
+            }
+            if (counters == null) {
+                log.info("Application statistics seeded with {} applications", fresh.total);
+            } else if (notify ? !counters.sameAs(fresh) : !counters.sameCreations(fresh)) {
+                log.warn("Application statistics drifted from the database (total {} vs {}), replacing counters",
+                        counters.total, fresh.total);
+            } else if (!counters.sameAs(fresh)) {
+                log.debug("Folded status and step changes into the application statistics");
+            }
+            if (caughtUp > 0) {
+                log.debug("Applied {} changes notified during the statistics reload", caughtUp);
+            }
+            counters = fresh;
+        }
+    }
+    
+    @Scheduled(fixedDelayString = "${statistics.feed.poll-interval:PT5S}",
+            initialDelayString = "${statistics.feed.poll-interval:PT5S}")
+    public void poll() {
+        Counters current;
+        synchronized (this) {
+            current = counters;
+        }
+        if (notifyMode() || current == null) {
+            return;
+        }
+        List<SubmissionRow> created = kycReadTransaction.execute(
+                status -> customerRepository.findSubmissionsCreatedAfter(current.watermark));
+        if (created.isEmpty()) {
+            return;
+        }
+        synchronized (this) {
+            // Reconciliation may have replaced the counters while we were querying
+            if (counters != current) {
+                return;
+            }
+            for (SubmissionRow row : created) {
+                if (row.getCreatedAt().isAfter(current.watermark)) {
+                    current.apply(String.valueOf(row.getStatus()), String.valueOf(row.getEntityType()),
+                            row.getCreatedAt(), row.getCurrentStep(), 1);
+                    current.watermark = row.getCreatedAt();
+                }
+            }
+        }
+        log.debug("Added {} new applications to the statistics", created.size());
+    }
+    
+    @PostConstruct
+    void startListener() {
+        if (!notifyMode()) {
+            return;
+        }
+        listening = true;
+        listener = new Thread(this::listen, "customer-changes-listener");
+        listener.setDaemon(true);
+        listener.start();
+    }
+    
+    @PreDestroy
+    void stopListener() {
+        listening = false;
+        if (listener != null) {
+            listener.interrupt();
+        }
+    }
+    
+    private void listen() {
+        boolean reconnecting = false;
+        while (listening) {
+            try (Connection connection = listenerDataSource.getConnection();
+                    Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                if (reconnecting) {
+                    // Changes made while we were disconnected were never delivered
+                    reconcile();
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                while (listening) {
+                    PGNotification[] notifications = pgConnection.getNotifications((int) RECONNECT_DELAY_MS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            applyChange(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                if (!listening) {
+                    return;
+                }
+                log.warn("Customer change listener failed, reconnecting: {}", e.getMessage());
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MS);
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+    
+    private void applyChange(String payload) {
+        ChangeEvent event;
+        try {
+            event = objectMapper.readValue(payload, ChangeEvent.class);
+        } catch (Exception e) {
+            log.warn("Ignoring malformed customer change event: {}", payload);
+            return;
+        }
+        synchronized (this) {
+            if (pendingChanges != null) {
+                pendingChanges.add(event);
+            }
+            if (counters != null) {
+                event.applyTo(counters);
+            }
+        }
+        // Older trigger versions don't send the id
+        if (event.id() != null) {
+            eventPublisher.publishEvent(new CustomerChangedEvent(event.id()));
+        }
+    }
+    
+    private Loaded load(boolean notify) {
+        ZoneId zone = zone();
+        LocalDate windowStart = windowStart(LocalDate.now(zone));
+        // The poll watermark; the notify feed covers every committed row instead
+        Instant until = notify ? NO_WATERMARK : Instant.now();
+        Counters counters = new Counters(zone, windowStart, until);
+        String snapshot = kycReadTransaction.execute(status -> {
+            String current = notify ? customerRepository.currentSnapshot() : null;
+            for (SubmissionBucket bucket : customerRepository.aggregateSubmissions(
+                    windowStart.atStartOfDay(zone).toInstant(), until, zone.getId())) {
+                counters.add(String.valueOf(bucket.getStatus()), String.valueOf(bucket.getEntityType()),
+                        bucket.getDay(), bucket.getTotal(), bucket.getSteps());
+            }
+            return current;
+        });
+        return Loaded.of(counters, snapshot);
+    }
+    
+    private boolean notifyMode() {
+        return "notify".equals(feedMode);
+    }
+    
+    private ZoneId zone() {
+        return ZoneId.of(timeZone);
+    }
+    
+    /**
+     * Earliest creation day kept in the per-day counters.
+     */
+    static LocalDate windowStart(LocalDate today) {
+        LocalDate firstDay = today.minusDays(DAY_WINDOW - 1);
+        LocalDate firstMonth = YearMonth.from(today).minusMonths(MONTH_WINDOW - 1).atDay(1);
+        return firstDay.isBefore(firstMonth) ? firstDay : firstMonth;
+    }
+    
+    public record StatsSnapshot(Map<String, Long> byStatus, Map<String, Long> byType,
+            Map<LocalDate, Long> perDay, long total, long steps, LocalDate today) {
+        
+        public long status(String status) {
+            return byStatus.getOrDefault(status, 0L);
+        }
+        
+        /**
+         * Applications created in the last {@code days} calendar days, today included.
+         */
+        public long createdInLastDays(int days) {
+            long sum = 0;
+            for (int i = 0; i < days; i++) {
+                sum += perDay.getOrDefault(today.minusDays(i), 0L);
+            }
+            return sum;
+        }
+    }
+    
+    /**
+     * A customer change notification; {@code xid} is the id of the writing
+     * transaction.
+     */
+    record ChangeEvent(String id, Long xid, ChangeRow old, @JsonProperty("new") ChangeRow current) {
+        
+        void applyTo(Counters counters) {
+            if (old != null) {
+                old.applyTo(counters, -1);
+            }
+            if (current != null) {
+                current.applyTo(counters, 1);
+            }
+        }
+    }
+    
+    /**
+     * Recomputed counters plus, in {@code notify} mode, the transaction snapshot
+     * ({@code xmin:xmax:xip,...}) the aggregate was read under.
+     */
+    private record Loaded(Counters counters, long xmin, long xmax, Set<Long> inProgress) {
+        
+        static Loaded of(Counters counters, String snapshot) {
+            if (snapshot == null) {
+                return new Loaded(counters, Long.MAX_VALUE, Long.MAX_VALUE, Set.of());
+            }
+            String[] parts = snapshot.split(":", -1);
+            Set<Long> inProgress = new HashSet<>();
+            if (parts.length > 2 && !parts[2].isEmpty()) {
+                for (String xid : parts[2].split(",")) {
+                    inProgress.add(Long.parseLong(xid));
+                }
+            }
+            return new Loaded(counters, Long.parseLong(parts[0]), Long.parseLong(parts[1]), inProgress);
+        }
+        
+        /**
+         * Whether the transaction had committed when the counters were read.
+         * Older trigger versions don't send the xid; those changes wait for the
+         * next reconciliation.
+         */
+        boolean sees(Long xid) {
+            return xid == null || xid < xmin || (xid < xmax && !inProgress.contains(xid));
+        }
+    }
+    
+    /**
+     * Customer columns carried by a change notification; {@code createdAt} is
+     * in epoch seconds.
+     */
+    record ChangeRow(String status, String entityType, Double createdAt, Integer currentStep) {
+        
+        void applyTo(Counters counters, int sign) {
+            Instant created = createdAt == null ? null : Instant.ofEpochMilli(Math.round(createdAt * 1000));
+            counters.apply(String.valueOf(status), String.valueOf(entityType), created, currentStep, sign);
+        }
+    }
+    
+    private static final class Counters {
+        
+        private final ZoneId zone;
+        private final LocalDate windowStart;
+        private final Map<String, Long> byStatus = new HashMap<>();
+        private final Map<String, Long> byType = new HashMap<>();
+        private final Map<LocalDate, Long> perDay = new HashMap<>();
+        private long total;
+        private long steps;
+        private Instant watermark;
+        
+        Counters(ZoneId zone, LocalDate windowStart, Instant watermark) {
+            this.zone = zone;
+            this.windowStart = windowStart;
+            this.watermark = watermark;
+        }
+        
+        void apply(String status, String entityType, Instant createdAt, Integer currentStep, int sign) {
+            LocalDate day = createdAt == null ? null : createdAt.atZone(zone).toLocalDate();
+            if (day != null && day.isBefore(windowStart)) {
+                day = null;
+            }
+            add(status, entityType, day, sign, currentStep == null ? 0 : (long) sign * currentStep);
+        }
+        
+        void add(String status, String entityType, LocalDate day, long count, long stepSum) {
+            byStatus.merge(status, count, Counters::sum);
+            byType.merge(entityType, count, Counters::sum);
+            if (day != null) {
+                perDay.merge(day, count, Counters::sum);
+            }
+            total += count;
+            steps += stepSum;
+        }
+        
+        boolean sameAs(Counters other) {
+            return sameCreations(other) && steps == other.steps && byStatus.equals(other.byStatus);
+        }
+        
+        /**
+         * Compares only what the {@code poll} feed maintains.
+         */
+        boolean sameCreations(Counters other) {
+            return total == other.total && byType.equals(other.byType) && perDay.equals(other.perDay);
+        }
+        
+        StatsSnapshot snapshot(LocalDate today) {
+            return new StatsSnapshot(Map.copyOf(byStatus), Map.copyOf(byType),
+                    Collections.unmodifiableMap(new TreeMap<>(perDay)), total, steps, today);
+        }
+        
+        // Drops entries that fall back to zero so a recomputation compares equal
+        private static Long sum(Long a, Long b) {
+            long result = a + b;
+            return result == 0 ? null : result;
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.onboarding.admin.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.admin.entity.AuditLog;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Collection;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Keeps {@code audit_logs} range partitioned by calendar month (UTC) of
+ * {@code timestamp}.
+ *
+ * <p>At startup a plain {@code audit_logs} table, as created by Hibernate or
+ * left by earlier versions, is converted: its entries are copied into a
+ * partition per month they fall in, so that older months are archived like any
+ * other. A catch-all partition from {@code minvalue}, left by an earlier
+ * conversion, is split the same way. The primary key of a partitioned table
+ * has to include the partition key, so it becomes {@code (id, timestamp)}.
+ *
+ * <p>A daily job creates the partitions of the coming months and archives the
+ * partitions that are entirely older than the retention period: each one is
+ * detached, exported to {@code <table>.ndjson.gz} in the archive directory (one
+ * JSON entry per line, the same format as the writer's spool) and dropped.
+ * Only one instance archives at a time.
+ *
+ * <p>Entries written for a month without a partition fail and are spooled by
+ * {@link AuditLogWriter}, which has the partition created when it replays
+ * them. Months older than the retention period are not recreated, and their
+ * entries are dead-lettered instead.
+ */
+@Slf4j
+@Component
+public class AuditLogPartitions {
+    
+    static final String TABLE = "audit_logs";
+    
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("'y'yyyy'm'MM");
+    private static final String PARTITION_PATTERN = TABLE + "_y____m__";
+    private static final String LEGACY_TABLE = TABLE + "_legacy";
+    private static final int EXPORT_FETCH_SIZE = 1000;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate adminTransaction;
+    private final ObjectMapper objectMapper;
+    
+    @Value("${audit.partitions.months-ahead:3}")
+    private int monthsAhead;
+    
+    @Value("${audit.retention.months:24}")
+    private int retentionMonths;
+    
+    @Value("${audit.retention.archive-dir:audit-archive}")
+    private Path archiveDir;
+    
+    public AuditLogPartitions(@Qualifier("adminJdbcTemplate") JdbcTemplate jdbcTemplate,
+            @Qualifier("adminTransactionManager") PlatformTransactionManager adminTransactionManager,
+            ObjectMapper objectMapper) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.adminTransaction = new TransactionTemplate(adminTransactionManager);
+        this.objectMapper = objectMapper;
+    }
+    
+    @PostConstruct
+    void init() {
+        adminTransaction.executeWithoutResult(status -> {
+            lock();
+            partitionLegacyTable();
+            splitLegacyPartition();
+            createUpcomingPartitions(YearMonth.now(ZoneOffset.UTC));
+        });
+    }
+    
+    @Scheduled(cron = "${audit.partitions.maintenance-cron:0 30 2 * * *}", zone = "UTC")
+    public void maintain() {
+        YearMonth current = YearMonth.now(ZoneOffset.UTC);
+        adminTransaction.executeWithoutResult(status -> {
+            lock();
+            createUpcomingPartitions(current);
+        });
+        if (retentionMonths > 0) {
+            archiveBefore(current.minusMonths(retentionMonths));
+        }
+    }
+    
+    /**
+     * Creates the missing partitions for the months of {@code timestamps} that
+     * are still within the retention period. Returns whether any was created.
+     */
+    public boolean createPartitionsFor(Collection<Instant> timestamps) {
+        YearMonth cutoff = YearMonth.now(ZoneOffset.UTC).minusMonths(retentionMonths);
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (Instant timestamp : timestamps) {
+            YearMonth month = YearMonth.from(timestamp.atOffset(ZoneOffset.UTC));
+            if (retentionMonths <= 0 || !month.isBefore(cutoff)) {
+                months.add(month);
+            }
+        }
+        if (months.isEmpty()) {
+            return false;
+        }
+        return Boolean.TRUE.equals(adminTransaction.execute(status -> {
+            lock();
+            boolean created = false;
+            for (YearMonth month : months) {
+                created |= createPartition(month);
+            }
+            return created;
+        }));
+    }
+    
+    /**
+     * Whether an insert failed because no partition covers the entry's timestamp.
+     */
+    static boolean isMissingPartition(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && "23514".equals(sqlException.getSQLState())
+                    && String.valueOf(sqlException.getMessage()).contains("no partition of relation")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Archives and drops every partition whose month lies before {@code cutoff},
+     * including ones detached by an earlier run that failed to export. Skipped
+     * while another instance is archiving.
+     */
+    void archiveBefore(YearMonth cutoff) {
+        // Held on its own connection for the whole run, so the export and drop can't race another instance
+        try (Connection lockConnection = jdbcTemplate.getDataSource().getConnection()) {
+            if (!archiveLock(lockConnection, "pg_try_advisory_lock")) {
+                log.info("Another instance is archiving audit partitions, skipping");
+                return;
+            }
+            try {
+                archiveExpired(cutoff);
+            } finally {
+                archiveLock(lockConnection, "pg_advisory_unlock");
+            }
+        } catch (SQLException e) {
+            log.error("Failed to lock audit partitions for archiving: {}", e.getMessage());
+        }
+    }
+    
+    private void archiveExpired(YearMonth cutoff) {
+        List<String> expired = jdbcTemplate.queryForList(
+                "select relname from pg_class where relname like ? and relkind = 'r' "
+                        + "and relnamespace = current_schema()::regnamespace and relname < ? order by relname",
+                String.class, PARTITION_PATTERN, partitionName(cutoff));
+        for (String partition : expired) {
+            try {
+                archive(partition);
+            } catch (IOException | RuntimeException e) {
+                log.error("Failed to archive audit partition {}, keeping it for the next run: {}",
+                        partition, e.getMessage());
+            }
+        }
+    }
+    
+    private void archive(String partition) throws IOException {
+        adminTransaction.executeWithoutResult(status -> {
+            lock();
+            boolean attached = Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                    "select exists (select 1 from pg_inherits where inhrelid = ?::regclass)", Boolean.class, partition));
+            if (attached) {
+                jdbcTemplate.execute("alter table " + TABLE + " detach partition " + partition);
+            }
+        });
+        
+        Files.createDirectories(archiveDir);
+        Path target = archiveDir.resolve(partition + ".ndjson.gz");
+        Path temp = archiveDir.resolve(partition + ".ndjson.gz.tmp");
+        long exported = export(partition, temp);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        
+        jdbcTemplate.execute("drop table " + partition);
+        log.info("Archived {} audit entries of {} to {}", exported, partition, target);
+    }
+    
+    private long export(String partition, Path file) throws IOException {
+        try (FileOutputStream out = new FileOutputStream(file.toFile());
+                GZIPOutputStream gzip = new GZIPOutputStream(out, 1 << 16);
+                Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8))) {
+            long[] count = new long[1];
+            // Cursor-based fetch needs a transaction, otherwise the driver loads the whole table
+            adminTransaction.executeWithoutResult(status -> jdbcTemplate.query(connection -> {
+                PreparedStatement ps = connection.prepareStatement("select id, user_id, username, action, resource, "
+                        + "resource_id, details, ip_address, timestamp from " + partition + " order by timestamp, id");
+                ps.setFetchSize(EXPORT_FETCH_SIZE);
+                return ps;
+            }, rs -> {
+                AuditLog entry = new AuditLog();
+                entry.setId(rs.getString("id"));
+                entry.setUserId(rs.getString("user_id"));
+                entry.setUsername(rs.getString("username"));
+                entry.setAction(rs.getString("action"));
+                entry.setResource(rs.getString("resource"));
+                entry.setResourceId(rs.getString("resource_id"));
+                entry.setDetails(rs.getString("details"));
+                entry.setIpAddress(rs.getString("ip_address"));
+                entry.setTimestamp(rs.getObject("timestamp", OffsetDateTime.class).toInstant());
+                try {
+                    writer.write(objectMapper.writeValueAsString(entry));
+                    writer.write('\n');
+                } catch (IOException e) {
+                    throw new RuntimeException("Failed to write audit archive " + file, e);
+                }
+                count[0]++;
+            }));
+            writer.flush();
+            gzip.finish();
+            out.getFD().sync();
+            return count[0];
+        }
+    }
+    
+    private void partitionLegacyTable() {
+        String kind = jdbcTemplate.queryForObject(
+                "select coalesce((select relkind::text from pg_class where oid = to_regclass(?)), '')", String.class, TABLE);
+        if (!"r".equals(kind)) {
+            return;
+        }
+        log.info("Converting {} to a partitioned table", TABLE);
+        
+        List<String> indexDefinitions = jdbcTemplate.queryForList(
+                "select pg_get_indexdef(i.indexrelid) from pg_index i where i.indrelid = ?::regclass and not i.indisprimary",
+                String.class, TABLE);
+        List<String> indexNames = jdbcTemplate.queryForList(
+                "select c.relname from pg_index i join pg_class c on c.oid = i.indexrelid "
+                        + "where i.indrelid = ?::regclass and not i.indisprimary",
+                String.class, TABLE);
+        List<String> primaryKeys = jdbcTemplate.queryForList(
+                "select conname from pg_constraint where conrelid = ?::regclass and contype = 'p'", String.class, TABLE);
+        
+        jdbcTemplate.execute("alter table " + TABLE + " rename to " + LEGACY_TABLE);
+        for (String index : indexNames) {
+            jdbcTemplate.execute("alter index " + index + " rename to " + index.replace(TABLE, LEGACY_TABLE));
+        }
+        for (String primaryKey : primaryKeys) {
+            // Replaced by the (id, timestamp) key of the partitioned table
+            jdbcTemplate.execute("alter table " + LEGACY_TABLE + " drop constraint " + primaryKey);
+        }
+        jdbcTemplate.execute("create table " + TABLE + " (like " + LEGACY_TABLE + " including defaults including storage) "
+                + "partition by range (\"timestamp\")");
+        jdbcTemplate.execute("alter table " + TABLE + " add primary key (id, \"timestamp\")");
+        moveLegacyEntries();
+        indexDefinitions.forEach(jdbcTemplate::execute);
+    }
+    
+    private void splitLegacyPartition() {
+        List<String> catchAll = jdbcTemplate.queryForList(
+                "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid "
+                        + "where i.inhparent = ?::regclass and pg_get_expr(c.relpartbound, c.oid) like '%MINVALUE%'",
+                String.class, TABLE);
+        for (String partition : catchAll) {
+            log.info("Splitting audit log partition {} into monthly partitions", partition);
+            jdbcTemplate.execute("alter table " + TABLE + " detach partition " + partition);
+            jdbcTemplate.execute("alter table " + partition + " rename to " + LEGACY_TABLE);
+            moveLegacyEntries();
+        }
+    }
+    
+    // Copies the legacy table's entries into the partitions of their months and drops it
+    private void moveLegacyEntries() {
+        List<String> months = jdbcTemplate.queryForList("select distinct to_char(\"timestamp\" at time zone 'UTC', 'YYYY-MM') "
+                + "from " + LEGACY_TABLE + " where \"timestamp\" is not null order by 1", String.class);
+        months.forEach(month -> createPartition(YearMonth.parse(month)));
+        int moved = jdbcTemplate.update("insert into " + TABLE + " select * from " + LEGACY_TABLE);
+        jdbcTemplate.execute("drop table " + LEGACY_TABLE);
+        log.info("Moved {} audit entries into {} monthly partitions", moved, months.size());
+    }
+    
+    private void createUpcomingPartitions(YearMonth current) {
+        for (int i = 0; i <= monthsAhead; i++) {
+            createPartition(current.plusMonths(i));
+        }
+    }
+    
+    private boolean createPartition(YearMonth month) {
+        String partition = partitionName(month);
+        Boolean exists = jdbcTemplate.queryForObject("select to_regclass(?) is not null", Boolean.class, partition);
+        if (Boolean.TRUE.equals(exists)) {
+            return false;
+        }
+        jdbcTemplate.execute("create table " + partition + " partition of " + TABLE
+                + " for values from ('" + monthStart(month) + "') to ('" + monthStart(month.plusMonths(1)) + "')");
+        log.info("Created audit log partition {}", partition);
+        return true;
+    }
+    
+    // Serializes partition changes across instances for the rest of the transaction
+    private void lock() {
+        jdbcTemplate.queryForObject("select pg_advisory_xact_lock(hashtext(?))", Object.class, TABLE + "_partitions");
+    }
+    
+    private static boolean archiveLock(Connection connection, String function) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("select " + function + "(hashtext(?))")) {
+            ps.setString(1, TABLE + "_archive");
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getBoolean(1);
+            }
+        }
+    }
+    
+    static String partitionName(YearMonth month) {
+        return TABLE + "_" + month.format(PARTITION_SUFFIX);
+    }
+    
+    private static String monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC).toString();
+    }
+}
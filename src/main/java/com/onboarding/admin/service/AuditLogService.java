@@ -1,24 +1,57 @@
 package com.onboarding.admin.service;
 
+import com.onboarding.admin.dto.AuditLogQuery;
+import com.onboarding.admin.dto.CursorPage;
 import com.onboarding.admin.entity.AuditLog;
 import com.onboarding.admin.repository.AuditLogRepository;
+import com.onboarding.admin.repository.AuditLogSpecifications;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
 @Service
 @RequiredArgsConstructor
 public class AuditLogService {
     
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "timestamp", "id");
+    
     private final AuditLogRepository auditLogRepository;
+    private final AuditLogWriter auditLogWriter;
     
+    /**
+     * Records an action by the current user. The entry is captured here and
+     * written asynchronously after the surrounding transaction commits.
+     */
     public void log(String action, String resource, String resourceId, String details) {
+        auditLogWriter.submit(newEntry(action, resource, resourceId, details));
+    }
+    
+    /**
+     * Records the same action on several resources, with details per resource
+     * id, as one batch.
+     */
+    public void logAll(String action, String resource, Map<String, String> detailsByResourceId) {
+        List<AuditLog> entries = new ArrayList<>(detailsByResourceId.size());
+        detailsByResourceId.forEach((resourceId, details) ->
+                entries.add(newEntry(action, resource, resourceId, details)));
+        auditLogWriter.submitAll(entries);
+    }
+    
+    private AuditLog newEntry(String action, String resource, String resourceId, String details) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
         
         AuditLog log = new AuditLog();
+        log.setId(UUID.randomUUID().toString());
         log.setAction(action);
         log.setResource(resource);
         log.setResourceId(resourceId);
@@ -27,8 +60,49 @@ public class AuditLogService {
         if (auth != null && auth.isAuthenticated()) {
             log.setUsername(auth.getName());
         }
+        return log;
+    }
+    
+    /**
+     * Newest entries first, matching every filter that is set, paginated by
+     * {@code (timestamp, id)} keyset.
+     */
+    public CursorPage<AuditLog> scrollLogs(AuditLogQuery query, String cursor, int size) {
+        Specification<AuditLog> spec = Specification.where(null);
+        if (hasText(query.getResource())) {
+            spec = spec.and(AuditLogSpecifications.hasResource(query.getResource()));
+        }
+        if (hasText(query.getResourceId())) {
+            spec = spec.and(AuditLogSpecifications.hasResourceId(query.getResourceId()));
+        }
+        if (hasText(query.getUsername())) {
+            spec = spec.and(AuditLogSpecifications.hasUsername(query.getUsername()));
+        }
+        if (hasText(query.getAction())) {
+            spec = spec.and(AuditLogSpecifications.hasAction(query.getAction()));
+        }
+        if (hasText(query.getDateFrom())) {
+            spec = spec.and(AuditLogSpecifications.loggedFrom(DateFilters.parse(query.getDateFrom(), false)));
+        }
+        if (hasText(query.getDateTo())) {
+            spec = spec.and(AuditLogSpecifications.loggedBefore(DateFilters.parse(query.getDateTo(), true)));
+        }
+        if (hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            spec = spec.and(AuditLogSpecifications.after(position.timestamp(), position.id()));
+        }
         
-        auditLogRepository.save(log);
+        // Fetch one extra row to find out whether another page exists
+        List<AuditLog> rows = auditLogRepository.findBy(spec, q -> q.sortBy(KEYSET_SORT).limit(size + 1).all());
+        boolean hasNext = rows.size() > size;
+        List<AuditLog> content = hasNext ? rows.subList(0, size) : rows;
+        
+        String nextCursor = null;
+        if (hasNext) {
+            AuditLog last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.getTimestamp(), last.getId()).encode();
+        }
+        return new CursorPage<>(content, size, hasNext, nextCursor);
     }
     
     public Page<AuditLog> getAllLogs(Pageable pageable) {
@@ -42,4 +116,8 @@ public class AuditLogService {
     public Page<AuditLog> getLogsByResourceId(String resourceId, Pageable pageable) {
         return auditLogRepository.findByResourceId(resourceId, pageable);
     }
+    
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
 }
@@ -0,0 +1,422 @@
+package com.onboarding.admin.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.onboarding.admin.entity.AuditLog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.NonTransientDataAccessException;
+import org.springframework.dao.UncategorizedDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Writes audit entries to the admin database off the request thread.
+ *
+ * <p>Entries are queued once the caller's transaction commits, and a single
+ * flusher thread inserts them in JDBC batches when a batch is full or the
+ * flush interval has passed. If the queue is still full after a short wait,
+ * or a batch insert fails, the entries are appended to a local spool file (one
+ * JSON entry per line) instead. The spool is replayed at startup and again
+ * whenever the writer is idle, one batch at a time. Inserts skip ids that
+ * already exist, so replaying the same entries twice is harmless.
+ *
+ * <p>Batches are read from the spool under its lock but inserted without it,
+ * so callers spooling while the database is slow aren't held up by the replay.
+ * A replay that fails because the database is unavailable is retried with a
+ * backoff doubling up to {@code audit.writer.replay-max-backoff}, however long
+ * that takes. When the database rejects a batch outright (for example when
+ * its monthly partition has been archived and dropped), the batch is written
+ * entry by entry and the entries that still fail are moved to a dead-letter
+ * file in the spool format, so one bad entry can't hold up the rest of the
+ * spool.
+ *
+ * <p>Entries go to the monthly partitions maintained by {@link AuditLogPartitions}.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+    
+    private static final String INSERT_SQL = "insert into audit_logs "
+            + "(id, user_id, username, action, resource, resource_id, details, ip_address, timestamp) "
+            + "values (?, ?, ?, ?, ?, ?, ?, ?, ?) on conflict (id, timestamp) do nothing";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final AuditLogPartitions partitions;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final ReentrantLock spoolLock = new ReentrantLock();
+    
+    @Value("${audit.writer.queue-capacity:10000}")
+    private int queueCapacity;
+    
+    @Value("${audit.writer.batch-size:200}")
+    private int batchSize;
+    
+    @Value("${audit.writer.flush-interval:PT1S}")
+    private Duration flushInterval;
+    
+    @Value("${audit.writer.offer-timeout:PT0.05S}")
+    private Duration offerTimeout;
+    
+    @Value("${audit.writer.replay-interval:PT1M}")
+    private Duration replayInterval;
+    
+    @Value("${audit.writer.shutdown-timeout:PT10S}")
+    private Duration shutdownTimeout;
+    
+    @Value("${audit.writer.spool-file:audit-spool.ndjson}")
+    private Path spoolFile;
+    
+    @Value("${audit.writer.replay-max-backoff:PT15M}")
+    private Duration replayMaxBackoff;
+    
+    @Value("${audit.writer.dead-letter-file:audit-spool.dead.ndjson}")
+    private Path deadLetterFile;
+    
+    private BlockingQueue<AuditLog> queue;
+    private Timer flushTimer;
+    private Counter spooledEntries;
+    private Counter deadLetteredEntries;
+    
+    private volatile boolean running;
+    private volatile boolean spoolPending;
+    private long nextReplayAt;
+    private Thread flusher;
+    
+    // Replay progress through the spool file, only touched by the flusher thread
+    private long spoolReplayedBytes;
+    private int replayFailures;
+    
+    public AuditLogWriter(@Qualifier("adminJdbcTemplate") JdbcTemplate jdbcTemplate, AuditLogPartitions partitions,
+            ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.partitions = partitions;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+    }
+    
+    @PostConstruct
+    void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("audit.queue.depth", queue, BlockingQueue::size)
+                .description("Audit entries waiting to be written")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("audit.flush")
+                .description("Time taken to insert one batch of audit entries")
+                .register(meterRegistry);
+        spooledEntries = Counter.builder("audit.spooled")
+                .description("Audit entries written to the local spool file")
+                .register(meterRegistry);
+        deadLetteredEntries = Counter.builder("audit.dead.lettered")
+                .description("Spooled audit entries moved to the dead-letter file")
+                .register(meterRegistry);
+        
+        spoolPending = Files.exists(spoolFile);
+        running = true;
+        flusher = new Thread(this::run, "audit-log-writer");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+    
+    /**
+     * Queues an entry for writing once the current transaction, if any, has
+     * committed. Entries of rolled back transactions are dropped.
+     */
+    public void submit(AuditLog entry) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    enqueue(entry);
+                }
+            });
+        } else {
+            enqueue(entry);
+        }
+    }
+    
+    /**
+     * Like {@link #submit}, for entries recorded together: they are queued in
+     * one go and typically written in the same batch.
+     */
+    public void submitAll(List<AuditLog> entries) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    entries.forEach(AuditLogWriter.this::enqueue);
+                }
+            });
+        } else {
+            entries.forEach(this::enqueue);
+        }
+    }
+    
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        flusher.interrupt();
+        flusher.join(shutdownTimeout.toMillis());
+        
+        List<AuditLog> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            log.warn("Audit writer stopped with {} entries queued, spooling them", remaining.size());
+            spool(remaining);
+        }
+    }
+    
+    private void enqueue(AuditLog entry) {
+        if (running) {
+            try {
+                if (queue.offer(entry, offerTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Writer is saturated or stopped: keep the entry on disk instead of blocking the caller
+        spool(List.of(entry));
+    }
+    
+    private void run() {
+        List<AuditLog> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                AuditLog first = queue.poll(flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    replaySpoolIfDue();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + flushInterval.toNanos();
+                while (batch.size() < batchSize && running) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    AuditLog next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                // Shutting down: write what has been collected and drain the queue
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+    
+    private void flush(List<AuditLog> batch) {
+        try {
+            flushTimer.record(() -> insert(batch));
+        } catch (RuntimeException e) {
+            log.error("Failed to write {} audit entries, spooling them: {}", batch.size(), e.getMessage());
+            spool(batch);
+        }
+    }
+    
+    private void insert(List<AuditLog> entries) {
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, batchSize, (ps, entry) -> {
+            ps.setString(1, entry.getId());
+            ps.setString(2, entry.getUserId());
+            ps.setString(3, entry.getUsername());
+            ps.setString(4, entry.getAction());
+            ps.setString(5, entry.getResource());
+            ps.setString(6, entry.getResourceId());
+            ps.setString(7, entry.getDetails());
+            ps.setString(8, entry.getIpAddress());
+            ps.setObject(9, OffsetDateTime.ofInstant(entry.getTimestamp(), ZoneOffset.UTC));
+        });
+    }
+    
+    private void spool(List<AuditLog> entries) {
+        spoolLock.lock();
+        try {
+            append(spoolFile, entries);
+            spooledEntries.increment(entries.size());
+            spoolPending = true;
+        } catch (IOException e) {
+            log.error("Failed to spool audit entries, they are lost: {}", entries, e);
+        } finally {
+            spoolLock.unlock();
+        }
+    }
+    
+    private void append(Path file, List<AuditLog> entries) throws IOException {
+        try (FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            StringBuilder lines = new StringBuilder();
+            for (AuditLog entry : entries) {
+                lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+            }
+            channel.write(ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8)));
+            channel.force(false);
+        }
+    }
+    
+    /**
+     * Works through the spool from where the last replay stopped, one batch at
+     * a time. The file is deleted once every entry has been written or
+     * dead-lettered.
+     */
+    private void replaySpoolIfDue() {
+        if (!spoolPending || System.currentTimeMillis() < nextReplayAt) {
+            return;
+        }
+        int replayed = 0;
+        try {
+            SpoolBatch batch;
+            while ((batch = readSpoolBatch()) != null) {
+                replayed += replayBatch(batch.entries());
+                spoolReplayedBytes = batch.end();
+            }
+            replayFailures = 0;
+            log.info("Replayed {} spooled audit entries", replayed);
+        } catch (IOException | RuntimeException e) {
+            Duration backoff = replayInterval.multipliedBy(1L << Math.min(replayFailures++, 10));
+            if (backoff.compareTo(replayMaxBackoff) > 0) {
+                backoff = replayMaxBackoff;
+            }
+            nextReplayAt = System.currentTimeMillis() + backoff.toMillis();
+            log.warn("Could not replay audit spool {} after {} entries, retrying in {}: {}",
+                    spoolFile, replayed, backoff, e.getMessage());
+        }
+    }
+    
+    /**
+     * Reads the next batch after the replayed part of the spool, or deletes the
+     * spool and returns null when nothing is left.
+     */
+    private SpoolBatch readSpoolBatch() throws IOException {
+        spoolLock.lock();
+        try (FileChannel channel = FileChannel.open(spoolFile, StandardOpenOption.READ)) {
+            channel.position(spoolReplayedBytes);
+            BufferedReader reader = new BufferedReader(Channels.newReader(channel, StandardCharsets.UTF_8));
+            List<AuditLog> entries = new ArrayList<>(batchSize);
+            long end = spoolReplayedBytes;
+            String line;
+            while (entries.size() < batchSize && (line = reader.readLine()) != null) {
+                end += line.getBytes(StandardCharsets.UTF_8).length + 1;
+                AuditLog entry = readSpooled(line);
+                if (entry != null) {
+                    entries.add(entry);
+                }
+            }
+            if (!entries.isEmpty()) {
+                return new SpoolBatch(entries, end);
+            }
+            // Spooling takes the lock too, so nothing can be appended before the file is gone
+            channel.close();
+            Files.delete(spoolFile);
+            spoolReplayedBytes = 0;
+            spoolPending = false;
+            return null;
+        } finally {
+            spoolLock.unlock();
+        }
+    }
+    
+    private AuditLog readSpooled(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(line, AuditLog.class);
+        } catch (IOException e) {
+            // Typically a line cut short by a crash mid-write
+            log.warn("Skipping unreadable spooled audit entry: {}", line);
+            return null;
+        }
+    }
+    
+    /**
+     * Inserts one spooled batch and returns how many entries went in. Throws
+     * when the batch should be retried on a later replay.
+     */
+    private int replayBatch(List<AuditLog> batch) throws IOException {
+        try {
+            flushTimer.record(() -> insert(batch));
+            return batch.size();
+        } catch (RuntimeException e) {
+            if (!isRejection(e)) {
+                throw e;
+            }
+            if (AuditLogPartitions.isMissingPartition(e)
+                    && partitions.createPartitionsFor(batch.stream().map(AuditLog::getTimestamp).toList())) {
+                return replayBatch(batch);
+            }
+        }
+        List<AuditLog> rejected = new ArrayList<>();
+        for (AuditLog entry : batch) {
+            try {
+                insert(List.of(entry));
+            } catch (RuntimeException e) {
+                if (!isRejection(e)) {
+                    throw e;
+                }
+                log.error("Moving spooled audit entry {} to {}: {}", entry.getId(), deadLetterFile, e.getMessage());
+                rejected.add(entry);
+            }
+        }
+        if (!rejected.isEmpty()) {
+            append(deadLetterFile, rejected);
+            deadLetteredEntries.increment(rejected.size());
+        }
+        return batch.size() - rejected.size();
+    }
+    
+    /**
+     * Whether the database refused the entries themselves, so that retrying them
+     * can't succeed. Connection failures, timeouts and other transient or
+     * unclassified errors are not rejections.
+     */
+    private static boolean isRejection(RuntimeException e) {
+        if (!(e instanceof DataAccessException)) {
+            // Such as a spooled entry without a timestamp
+            return true;
+        }
+        return e instanceof NonTransientDataAccessException
+                && !(e instanceof DataAccessResourceFailureException)
+                && !(e instanceof UncategorizedDataAccessException);
+    }
+    
+    private record SpoolBatch(List<AuditLog> entries, long end) {
+    }
+}
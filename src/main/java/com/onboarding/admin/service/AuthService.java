@@ -5,10 +5,10 @@ import com.onboarding.admin.dto.LoginResponse;
 import com.onboarding.admin.entity.AdminUser;
 import com.onboarding.admin.repository.AdminUserRepository;
 import com.onboarding.admin.security.JwtUtil;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.Set;
@@ -17,25 +17,44 @@ import java.util.Set;
 @RequiredArgsConstructor
 public class AuthService {
     
-    private final AuthenticationManager authenticationManager;
     private final JwtUtil jwtUtil;
     private final AdminUserRepository adminUserRepository;
     private final AdminUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final LastLoginRecorder lastLoginRecorder;
+    
+    // Checked against when the user doesn't exist, so unknown usernames take as long as wrong passwords
+    private String dummyPasswordHash;
+    
+    @PostConstruct
+    void init() {
+        dummyPasswordHash = passwordEncoder.encode("dummy-password");
+    }
     
     public LoginResponse login(LoginRequest request) {
-        Authentication authentication = authenticationManager.authenticate(
-            new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword())
-        );
-        
-        String token = jwtUtil.generateToken(request.getUsername());
-        
         AdminUser adminUser = adminUserRepository.findByUsername(request.getUsername())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .filter(AdminUser::isActive)
+                .orElse(null);
+        
+        if (adminUser == null) {
+            passwordEncoder.matches(request.getPassword(), dummyPasswordHash);
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (!passwordEncoder.matches(request.getPassword(), adminUser.getPasswordHash())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+        if (passwordEncoder.upgradeEncoding(adminUser.getPasswordHash())) {
+            // Stored hash is weaker than the configured strength: rehash while we have the password
+            String hash = passwordEncoder.encode(request.getPassword());
+            if (adminUserRepository.updatePasswordHash(adminUser.getId(), adminUser.getPasswordHash(), hash) > 0) {
+                userDetailsService.evict(adminUser.getUsername());
+            }
+        }
         
-        adminUser.setLastLogin(Instant.now());
-        adminUserRepository.save(adminUser);
+        lastLoginRecorder.record(adminUser.getId(), Instant.now());
         
-        Set<String> permissions = userDetailsService.getUserPermissions(request.getUsername());
+        Set<String> permissions = userDetailsService.getUserPermissions(adminUser.getUsername());
+        String token = jwtUtil.generateToken(adminUser.getUsername(), permissions, adminUser.getAuthVersion());
         
         return new LoginResponse(
             token,
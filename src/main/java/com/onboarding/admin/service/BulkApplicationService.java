@@ -0,0 +1,188 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.dto.BulkAssignRequest;
+import com.onboarding.admin.dto.BulkStatusRequest;
+import com.onboarding.admin.dto.BulkUpdateResponse;
+import com.onboarding.admin.dto.BulkUpdateResponse.ItemResult;
+import com.onboarding.admin.dto.BulkUpdateResponse.Outcome;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.repository.kyc.CustomerRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Status updates and assignments for many applications in one request.
+ *
+ * <p>Existence is checked with a single KYC query, the review rows are upserted
+ * with one batched {@code INSERT ... ON CONFLICT} and the audit entries are
+ * submitted together. Unknown and repeated ids are reported per item and
+ * skipped.
+ */
+@Service
+public class BulkApplicationService {
+    
+    // Both bump the review version, like JPA updates, so stale single edits are rejected
+    private static final String ASSIGN_SQL = "insert into application_reviews "
+            + "(application_id, assigned_to, created_at, updated_at, version) values (?, ?, ?, ?, 0) "
+            + "on conflict (application_id) do update set assigned_to = excluded.assigned_to, "
+            + "updated_at = excluded.updated_at, version = application_reviews.version + 1";
+    
+    private static final String STATUS_SQL = "insert into application_reviews "
+            + "(application_id, status, review_notes, reviewed_at, created_at, updated_at, version) "
+            + "values (?, ?, ?, ?, ?, ?, 0) "
+            + "on conflict (application_id) do update set status = excluded.status, "
+            + "review_notes = excluded.review_notes, reviewed_at = excluded.reviewed_at, "
+            + "updated_at = excluded.updated_at, version = application_reviews.version + 1";
+    
+    private final CustomerRepository customerRepository;
+    private final AuditLogService auditLogService;
+    private final ApplicationDetailCache detailCache;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Value("${applications.bulk.max-size:1000}")
+    private int maxSize;
+    
+    @Value("${applications.bulk.batch-size:100}")
+    private int batchSize;
+    
+    public BulkApplicationService(CustomerRepository customerRepository, AuditLogService auditLogService,
+            ApplicationDetailCache detailCache, @Qualifier("adminJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.customerRepository = customerRepository;
+        this.auditLogService = auditLogService;
+        this.detailCache = detailCache;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    @Transactional("adminTransactionManager")
+    public BulkUpdateResponse assignApplications(BulkAssignRequest request) {
+        String assignedTo = request.getAssignedTo();
+        Resolution resolution = resolve(request.getApplicationIds());
+        List<String> ids = resolution.found();
+        if (ids.isEmpty()) {
+            return resolution.toResponse();
+        }
+        
+        // Locks the existing rows so the audit trail records the assignee actually replaced
+        Map<String, String> previous = new HashMap<>();
+        jdbcTemplate.query("select application_id, assigned_to from application_reviews "
+                + "where application_id = any(?) order by application_id for update",
+                rs -> {
+                    previous.put(rs.getString(1), rs.getString(2));
+                },
+                (Object) ids.toArray(String[]::new));
+        
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(ASSIGN_SQL, sorted(ids), batchSize, (ps, id) -> {
+            ps.setString(1, id);
+            ps.setString(2, assignedTo);
+            ps.setObject(3, now);
+            ps.setObject(4, now);
+        });
+        
+        Map<String, String> details = new LinkedHashMap<>();
+        for (String id : ids) {
+            details.put(id, String.format("Assigned from %s to %s", previous.get(id), assignedTo));
+        }
+        auditLogService.logAll("ASSIGN", "KYC_APPLICATION", details);
+        detailCache.evictAfterCommit(ids);
+        return resolution.toResponse();
+    }
+    
+    @Transactional("adminTransactionManager")
+    public BulkUpdateResponse updateStatuses(BulkStatusRequest request) {
+        ApplicationStatus status = parseStatus(request.getStatus());
+        Resolution resolution = resolve(request.getApplicationIds());
+        List<String> ids = resolution.found();
+        if (ids.isEmpty()) {
+            return resolution.toResponse();
+        }
+        
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        jdbcTemplate.batchUpdate(STATUS_SQL, sorted(ids), batchSize, (ps, id) -> {
+            ps.setString(1, id);
+            ps.setString(2, status.name());
+            ps.setString(3, request.getReviewNotes());
+            ps.setObject(4, now);
+            ps.setObject(5, now);
+            ps.setObject(6, now);
+        });
+        
+        Map<String, String> details = new LinkedHashMap<>();
+        for (String id : ids) {
+            details.put(id, String.format("Status updated to %s with notes", status));
+        }
+        auditLogService.logAll("UPDATE_STATUS", "KYC_APPLICATION", details);
+        detailCache.evictAfterCommit(ids);
+        return resolution.toResponse();
+    }
+    
+    /**
+     * Classifies the requested ids with one KYC lookup, keeping request order.
+     */
+    private Resolution resolve(List<String> requestedIds) {
+        if (requestedIds.size() > maxSize) {
+            throw new RuntimeException("At most " + maxSize + " applications can be updated at once");
+        }
+        Set<String> distinct = new HashSet<>();
+        for (String id : requestedIds) {
+            if (id == null || id.isBlank()) {
+                throw new RuntimeException("Application ids must not be blank");
+            }
+            distinct.add(id);
+        }
+        Set<String> existing = new HashSet<>(customerRepository.findExistingIds(distinct));
+        
+        List<ItemResult> results = new ArrayList<>(requestedIds.size());
+        List<String> found = new ArrayList<>(existing.size());
+        Set<String> seen = new HashSet<>();
+        for (String id : requestedIds) {
+            Outcome outcome;
+            if (!seen.add(id)) {
+                outcome = Outcome.DUPLICATE;
+            } else if (existing.contains(id)) {
+                outcome = Outcome.UPDATED;
+                found.add(id);
+            } else {
+                outcome = Outcome.NOT_FOUND;
+            }
+            results.add(new ItemResult(id, outcome));
+        }
+        return new Resolution(found, results);
+    }
+    
+    // Rows are locked in id order so concurrent bulk updates can't deadlock
+    private static List<String> sorted(List<String> ids) {
+        List<String> sorted = new ArrayList<>(ids);
+        Collections.sort(sorted);
+        return sorted;
+    }
+    
+    private ApplicationStatus parseStatus(String status) {
+        try {
+            return ApplicationStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid status: " + status);
+        }
+    }
+    
+    private record Resolution(List<String> found, List<ItemResult> results) {
+        
+        BulkUpdateResponse toResponse() {
+            return new BulkUpdateResponse(results.size(), found.size(), results);
+        }
+    }
+}
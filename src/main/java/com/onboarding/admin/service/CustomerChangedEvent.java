@@ -0,0 +1,8 @@
+package com.onboarding.admin.service;
+
+/**
+ * Published when the KYC change feed reports that a customer was created,
+ * changed or deleted.
+ */
+public record CustomerChangedEvent(String customerId) {
+}
@@ -1,61 +1,99 @@
 package com.onboarding.admin.service;
 
 import com.onboarding.admin.dto.DashboardStatsDto;
-import com.onboarding.admin.entity.kyc.Customer;
-import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
+import com.onboarding.admin.repository.ApplicationReviewRepository;
+import com.onboarding.admin.repository.ReviewStatusCount;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
+import java.time.Duration;
 import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantLock;
 
 @Service
 @RequiredArgsConstructor
 public class DashboardService {
     
-    private final CustomerRepository customerRepository;
+    private final ApplicationStatsAggregator statsAggregator;
+    private final ApplicationReviewRepository reviewRepository;
+    
+    // Review decisions show up on the dashboard within this long
+    @Value("${dashboard.review-counts-ttl:PT10S}")
+    private Duration reviewCountsTtl;
+    
+    private final ReentrantLock reviewCountsLoad = new ReentrantLock();
+    private volatile ReviewCounts reviewCounts;
     
     public DashboardStatsDto getStats() {
-        // Read from KYC database
-        List<Customer> allCustomers = customerRepository.findAll();
-        
-        long total = allCustomers.size();
-        long submitted = countByStatus(allCustomers, "SUBMITTED");
-        long underReview = countByStatus(allCustomers, "UNDER_REVIEW");
-        long approved = countByStatus(allCustomers, "APPROVED");
-        long rejected = countByStatus(allCustomers, "REJECTED");
-        long draft = countByStatus(allCustomers, "DRAFT");
-        long pendingInfo = countByStatus(allCustomers, "PENDING_INFO");
-        
-        Instant now = Instant.now();
-        Instant startOfDay = now.truncatedTo(ChronoUnit.DAYS);
-        Instant startOfWeek = now.minus(7, ChronoUnit.DAYS);
-        Instant startOfMonth = now.minus(30, ChronoUnit.DAYS);
-        
-        long todaySubmissions = countSubmissionsAfter(allCustomers, startOfDay);
-        long weekSubmissions = countSubmissionsAfter(allCustomers, startOfWeek);
-        long monthSubmissions = countSubmissionsAfter(allCustomers, startOfMonth);
+        ApplicationStatsAggregator.StatsSnapshot stats = statsAggregator.snapshot();
+        Map<String, Long> reviewStatusCounts = reviewStatusCounts();
         
         return new DashboardStatsDto(
-            total, submitted, underReview, approved, rejected, draft, pendingInfo,
-            todaySubmissions, weekSubmissions, monthSubmissions
+            stats.total(),
+            stats.status(ApplicationStatus.SUBMITTED.name()),
+            stats.status(ApplicationStatus.UNDER_REVIEW.name()),
+            stats.status(ApplicationStatus.APPROVED.name()),
+            stats.status(ApplicationStatus.REJECTED.name()),
+            stats.status(ApplicationStatus.DRAFT.name()),
+            0L, // PENDING_INFO is not an application status in the KYC schema
+            stats.createdInLastDays(1),
+            stats.createdInLastDays(7),
+            stats.createdInLastDays(30),
+            reviewStatusCounts
         );
     }
     
+    /**
+     * Review decision counts, regrouped at most once per TTL however often the
+     * dashboard polls. While one request reloads them the others keep getting
+     * the previous counts.
+     */
+    private Map<String, Long> reviewStatusCounts() {
+        ReviewCounts current = reviewCounts;
+        if (current != null && !current.isExpired(reviewCountsTtl)) {
+            return current.byStatus();
+        }
+        if (current != null && !reviewCountsLoad.tryLock()) {
+            return current.byStatus();
+        }
+        if (current == null) {
+            reviewCountsLoad.lock();
+        }
+        try {
+            current = reviewCounts;
+            if (current == null || current.isExpired(reviewCountsTtl)) {
+                current = new ReviewCounts(loadReviewStatusCounts(), Instant.now());
+                reviewCounts = current;
+            }
+            return current.byStatus();
+        } finally {
+            reviewCountsLoad.unlock();
+        }
+    }
+    
+    // Grouped over the status index of the admin database
+    private Map<String, Long> loadReviewStatusCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (ReviewStatusCount count : reviewRepository.countByStatus()) {
+            counts.put(count.getStatus().name(), count.getTotal());
+        }
+        return Collections.unmodifiableMap(counts);
+    }
+    
     public List<?> getActiveWidgets() {
         // Placeholder for future widget functionality
         return List.of();
     }
     
-    private long countByStatus(List<Customer> customers, String status) {
-        return customers.stream()
-                .filter(customer -> customer.getApplicationStatus().equals(status))
-                .count();
-    }
-    
-    private long countSubmissionsAfter(List<Customer> customers, Instant after) {
-        return customers.stream()
-                .filter(customer -> customer.getCreatedAt() != null && customer.getCreatedAt().isAfter(after))
-                .count();
+    private record ReviewCounts(Map<String, Long> byStatus, Instant loadedAt) {
+        
+        boolean isExpired(Duration ttl) {
+            return loadedAt.plus(ttl).isBefore(Instant.now());
+        }
     }
 }
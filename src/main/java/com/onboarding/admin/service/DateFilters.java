@@ -0,0 +1,33 @@
+package com.onboarding.admin.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Parsing of the date filters accepted by search and query endpoints.
+ */
+final class DateFilters {
+    
+    private DateFilters() {
+    }
+    
+    /**
+     * Accepts an ISO date ({@code 2024-01-31}) or instant. A plain date used as
+     * the upper bound includes the whole day.
+     */
+    static Instant parse(String value, boolean upperBound) {
+        String trimmed = value.trim();
+        try {
+            LocalDate date = LocalDate.parse(trimmed);
+            return (upperBound ? date.plusDays(1) : date).atStartOfDay(ZoneId.systemDefault()).toInstant();
+        } catch (DateTimeParseException e) {
+            try {
+                return Instant.parse(trimmed);
+            } catch (DateTimeParseException ex) {
+                throw new RuntimeException("Invalid date: " + value);
+            }
+        }
+    }
+}
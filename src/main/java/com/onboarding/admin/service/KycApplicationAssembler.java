@@ -0,0 +1,102 @@
+package com.onboarding.admin.service;
+
+import com.onboarding.admin.dto.KycApplicationDto;
+import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.repository.ApplicationReviewRepository;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds {@link KycApplicationDto}s from KYC customers (or their list
+ * summaries) and merges the review overlay kept in the admin database. Reviews
+ * for a whole page are fetched with chunked {@code IN (...)} queries instead of
+ * one lookup per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class KycApplicationAssembler {
+    
+    static final int REVIEW_BATCH_SIZE = 500;
+    
+    private final ApplicationReviewRepository reviewRepository;
+    
+    public Page<KycApplicationDto> toDtoPage(Page<CustomerSummary> customers) {
+        Map<String, ApplicationReview> reviews = findReviews(customers.getContent());
+        return customers.map(customer -> toDto(customer, reviews.get(customer.id())));
+    }
+    
+    public List<KycApplicationDto> toDtos(List<CustomerSummary> customers) {
+        Map<String, ApplicationReview> reviews = findReviews(customers);
+        return customers.stream()
+                .map(customer -> toDto(customer, reviews.get(customer.id())))
+                .toList();
+    }
+    
+    public KycApplicationDto toDto(Customer customer, ApplicationReview review) {
+        KycApplicationDto dto = new KycApplicationDto();
+        dto.setId(customer.getId());
+        dto.setUserId(customer.getUserId());
+        dto.setMobileNumber(customer.getMobileNumber());
+        dto.setEmail(customer.getEmail());
+        dto.setFullName(customer.getFullName());
+        dto.setApplicationStatus(customer.getApplicationStatus());
+        dto.setEntityType(customer.getEntityType());
+        dto.setCurrentStep(customer.getCurrentStep());
+        dto.setCompletionPercentage(customer.getCompletionPercentage());
+        dto.setCreatedAt(customer.getCreatedAt());
+        dto.setUpdatedAt(customer.getUpdatedAt());
+        applyReview(dto, review);
+        return dto;
+    }
+    
+    public KycApplicationDto toDto(CustomerSummary customer, ApplicationReview review) {
+        KycApplicationDto dto = new KycApplicationDto();
+        dto.setId(customer.id());
+        dto.setUserId(customer.id());
+        dto.setMobileNumber(customer.mobile());
+        dto.setFullName(customer.fullName());
+        dto.setApplicationStatus(customer.applicationStatus());
+        dto.setEntityType(customer.entityType());
+        dto.setCurrentStep(customer.currentStep());
+        dto.setCompletionPercentage(Customer.completionPercentage(customer.currentStep()));
+        dto.setCreatedAt(customer.createdAt());
+        dto.setUpdatedAt(customer.createdAt());
+        applyReview(dto, review);
+        return dto;
+    }
+    
+    private void applyReview(KycApplicationDto dto, ApplicationReview review) {
+        if (review != null) {
+            dto.setReviewStatus(review.getStatus());
+            dto.setReviewVersion(review.getVersion());
+            dto.setAssignedTo(review.getAssignedTo());
+            dto.setReviewNotes(review.getReviewNotes());
+            dto.setReviewedAt(review.getReviewedAt());
+        }
+    }
+    
+    private Map<String, ApplicationReview> findReviews(List<CustomerSummary> customers) {
+        List<String> ids = customers.stream()
+                .map(CustomerSummary::id)
+                .toList();
+        return findReviewsById(ids);
+    }
+    
+    Map<String, ApplicationReview> findReviewsById(List<String> ids) {
+        Map<String, ApplicationReview> reviews = new HashMap<>();
+        for (int start = 0; start < ids.size(); start += REVIEW_BATCH_SIZE) {
+            List<String> chunk = ids.subList(start, Math.min(start + REVIEW_BATCH_SIZE, ids.size()));
+            for (ApplicationReview review : reviewRepository.findByApplicationIdIn(chunk)) {
+                reviews.put(review.getApplicationId(), review);
+            }
+        }
+        return reviews;
+    }
+}
@@ -2,17 +2,25 @@ package com.onboarding.admin.service;
 
 import java.time.Instant;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.onboarding.admin.dto.KycApplicationDto;
 import com.onboarding.admin.entity.ApplicationReview;
-import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
 import com.onboarding.admin.repository.ApplicationReviewRepository;
 import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.CustomerSpecifications;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
 
 import lombok.RequiredArgsConstructor;
 
@@ -23,40 +31,55 @@ public class KycApplicationService {
     private final CustomerRepository customerRepository;
     private final ApplicationReviewRepository reviewRepository;
     private final AuditLogService auditLogService;
+    private final KycApplicationAssembler assembler;
+    private final ApplicationDetailCache detailCache;
+    private final ApplicationDetailLoader detailLoader;
     
+    @Transactional(value = "kycTransactionManager", readOnly = true)
     public Page<KycApplicationDto> getAllApplications(Pageable pageable) {
         // Read from KYC database (customers table)
-        return customerRepository.findAll(pageable).map(this::customerToDto);
+        return assembler.toDtoPage(customerRepository.findSummaries(null, pageable));
     }
     
-    public Page<KycApplicationDto> getApplicationsByStatus(String status, Pageable pageable) {
-        // Filter by calculated status
-        List<Customer> allCustomers = customerRepository.findAll();
-        List<Customer> filtered = allCustomers.stream()
-                .filter(customer -> customer.getApplicationStatus().equals(status))
-                .toList();
-        
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filtered.size());
-        
-        List<KycApplicationDto> pageContent = filtered.subList(start, end).stream()
-                .map(this::customerToDto)
+    @Transactional(value = "kycTransactionManager", readOnly = true)
+    public Page<KycApplicationDto> getApplicationsByStatus(ApplicationStatus status, Pageable pageable) {
+        // Filtered, counted and paged by the KYC database
+        return assembler.toDtoPage(customerRepository.findSummaries(CustomerSpecifications.hasStatus(status), pageable));
+    }
+    
+    /**
+     * Applications by reviewer decision, paged over the review overlay in the
+     * admin database.
+     */
+    @Transactional(value = "kycTransactionManager", readOnly = true)
+    public Page<KycApplicationDto> getApplicationsByReviewStatus(ApplicationStatus status, Pageable pageable) {
+        Page<ApplicationReview> reviews = reviewRepository.findByStatus(status, pageable);
+        List<String> ids = reviews.map(ApplicationReview::getApplicationId).getContent();
+        if (ids.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        Map<String, CustomerSummary> customers = customerRepository
+                .findSummaries(CustomerSpecifications.idIn(ids), Sort.unsorted(), ids.size()).stream()
+                .collect(Collectors.toMap(CustomerSummary::id, Function.identity()));
+        List<KycApplicationDto> content = reviews.getContent().stream()
+                .filter(review -> customers.containsKey(review.getApplicationId()))
+                .map(review -> assembler.toDto(customers.get(review.getApplicationId()), review))
                 .toList();
-        
-        return new org.springframework.data.domain.PageImpl<>(pageContent, pageable, filtered.size());
+        return new PageImpl<>(content, pageable, reviews.getTotalElements());
     }
     
+    @Transactional(value = "kycTransactionManager", readOnly = true)
     public KycApplicationDto getApplicationById(String id) {
-        // Try to get from KYC database first
-        Customer customer = customerRepository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Application not found"));
-        return customerToDto(customer);
+        return detailCache.get(id, () -> detailLoader.load(id));
     }
     
     @Transactional("adminTransactionManager")
-    public KycApplicationDto updateApplicationStatus(String id, String status, String reviewNotes) {
+    public KycApplicationDto updateApplicationStatus(String id, String status, String reviewNotes,
+            Long expectedVersion) {
+        ApplicationStatus newStatus = parseStatus(status);
+        
         // Get customer from KYC database
-        Customer customer = customerRepository.findById(id)
+        CustomerSummary customer = customerRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
         
         // Get or create review record in admin database
@@ -67,26 +90,34 @@ public class KycApplicationService {
                     return newReview;
                 });
         
+        // The reviewer decided on an older copy of the review
+        if (expectedVersion != null && expectedVersion != review.getVersion()) {
+            throw new ObjectOptimisticLockingFailureException(ApplicationReview.class, id);
+        }
+        
+        review.setStatus(newStatus);
         review.setReviewNotes(reviewNotes);
         review.setReviewedAt(Instant.now());
         review.setUpdatedAt(Instant.now());
         
-        reviewRepository.save(review);
+        // Flushed here so a concurrent change fails this call and the new version is returned
+        review = reviewRepository.saveAndFlush(review);
+        detailCache.evictAfterCommit(id);
         
         auditLogService.log(
             "UPDATE_STATUS",
             "KYC_APPLICATION",
             id,
-            String.format("Status updated to %s with notes", status)
+            String.format("Status updated to %s with notes", newStatus)
         );
         
-        return customerToDto(customer);
+        return assembler.toDto(customer, review);
     }
     
     @Transactional("adminTransactionManager")
     public KycApplicationDto assignApplication(String id, String assignedTo) {
         // Get customer from KYC database
-        Customer customer = customerRepository.findById(id)
+        CustomerSummary customer = customerRepository.findSummaryById(id)
                 .orElseThrow(() -> new RuntimeException("Application not found"));
         
         // Get or create review record in admin database
@@ -101,7 +132,8 @@ public class KycApplicationService {
         review.setAssignedTo(assignedTo);
         review.setUpdatedAt(Instant.now());
         
-        reviewRepository.save(review);
+        review = reviewRepository.save(review);
+        detailCache.evictAfterCommit(id);
         
         auditLogService.log(
             "ASSIGN",
@@ -110,30 +142,14 @@ public class KycApplicationService {
             String.format("Assigned from %s to %s", oldAssignee, assignedTo)
         );
         
-        return customerToDto(customer);
+        return assembler.toDto(customer, review);
     }
     
-    private KycApplicationDto customerToDto(Customer customer) {
-        KycApplicationDto dto = new KycApplicationDto();
-        dto.setId(customer.getId());
-        dto.setUserId(customer.getUserId());
-        dto.setMobileNumber(customer.getMobileNumber());
-        dto.setEmail(customer.getEmail());
-        dto.setFullName(customer.getFullName());
-        dto.setApplicationStatus(customer.getApplicationStatus());
-        dto.setEntityType(customer.getEntityType());
-        dto.setCurrentStep(customer.getCurrentStep());
-        dto.setCompletionPercentage(customer.getCompletionPercentage());
-        dto.setCreatedAt(customer.getCreatedAt());
-        dto.setUpdatedAt(customer.getUpdatedAt());
-        
-        // Get review data from admin database if exists
-        reviewRepository.findByApplicationId(customer.getId()).ifPresent(review -> {
-            dto.setAssignedTo(review.getAssignedTo());
-            dto.setReviewNotes(review.getReviewNotes());
-            dto.setReviewedAt(review.getReviewedAt());
-        });
-        
-        return dto;
+    private ApplicationStatus parseStatus(String status) {
+        try {
+            return ApplicationStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid status: " + status);
+        }
     }
 }
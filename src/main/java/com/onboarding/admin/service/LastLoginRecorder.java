@@ -0,0 +1,70 @@
+package com.onboarding.admin.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects last-login times and writes them in one batch per flush interval,
+ * keeping only the latest login per user, instead of an update on every login.
+ */
+@Slf4j
+@Component
+public class LastLoginRecorder {
+    
+    private static final String UPDATE_SQL = "update admin_users set last_login = ? "
+            + "where id = ? and (last_login is null or last_login < ?)";
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Instant> pending = new ConcurrentHashMap<>();
+    
+    public LastLoginRecorder(@Qualifier("adminJdbcTemplate") JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+    
+    public void record(String userId, Instant loginAt) {
+        pending.merge(userId, loginAt, (current, next) -> next.isAfter(current) ? next : current);
+    }
+    
+    @Scheduled(fixedDelayString = "${security.last-login.flush-interval:PT10S}")
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<Map.Entry<String, Instant>> batch = new ArrayList<>();
+        for (String userId : pending.keySet()) {
+            Instant loginAt = pending.remove(userId);
+            if (loginAt != null) {
+                batch.add(Map.entry(userId, loginAt));
+            }
+        }
+        try {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, batch, batch.size(), (ps, entry) -> {
+                OffsetDateTime loginAt = OffsetDateTime.ofInstant(entry.getValue(), ZoneOffset.UTC);
+                ps.setObject(1, loginAt);
+                ps.setString(2, entry.getKey());
+                ps.setObject(3, loginAt);
+            });
+        } catch (RuntimeException e) {
+            // Keep them for the next flush
+            batch.forEach(entry -> record(entry.getKey(), entry.getValue()));
+            log.warn("Failed to record {} last-login times: {}", batch.size(), e.getMessage());
+        }
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+}
@@ -1,103 +1,291 @@
 package com.onboarding.admin.service;
 
+import com.onboarding.admin.dto.CursorPage;
 import com.onboarding.admin.dto.KycApplicationDto;
 import com.onboarding.admin.dto.SearchRequest;
-import com.onboarding.admin.entity.ApplicationReview;
+import com.onboarding.admin.entity.kyc.ApplicationStatus;
 import com.onboarding.admin.entity.kyc.Customer;
+import com.onboarding.admin.entity.kyc.EntityType;
 import com.onboarding.admin.repository.ApplicationReviewRepository;
 import com.onboarding.admin.repository.kyc.CustomerRepository;
+import com.onboarding.admin.repository.kyc.CustomerSpecifications;
+import com.onboarding.admin.repository.kyc.CustomerSummary;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
     
+    private static final Sort KEYSET_SORT = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+    
     private final CustomerRepository customerRepository;
     private final ApplicationReviewRepository reviewRepository;
+    private final KycApplicationAssembler assembler;
+    private final ApplicantSearchIndex searchIndex;
     
-    public Page<KycApplicationDto> searchApplications(SearchRequest request, Pageable pageable) {
-        // Read from KYC database
-        List<Customer> allCustomers = customerRepository.findAll();
+    @Value("${search.index.max-candidates:5000}")
+    private int maxIndexCandidates;
+    
+    // Upper bound on the customer ids a review filter passes into one KYC query
+    @Value("${search.max-filter-ids:5000}")
+    private int maxFilterIds;
+    
+    /**
+     * Ranked applicant lookup by partial name, mobile or ID number.
+     */
+    @Transactional(value = "kycTransactionManager", readOnly = true)
+    public List<KycApplicationDto> findApplicants(String query, int limit) {
+        if (!hasText(query)) {
+            return List.of();
+        }
+        if (!searchIndex.isReady()) {
+            // Index still building: plain database match, newest first
+            Specification<Customer> spec = CustomerSpecifications.matchesQuery(query);
+            return assembler.toDtos(customerRepository.findSummaries(spec, KEYSET_SORT, limit));
+        }
+        
+        List<String> rankedIds = searchIndex.search(query, limit).ids();
+        Specification<Customer> indexed = rankedIds.isEmpty()
+                ? CustomerSpecifications.none()
+                : CustomerSpecifications.idIn(rankedIds);
+        // An identifier matches at most one customer per column
+        Map<String, CustomerSummary> customers = customerRepository
+                .findSummaries(withIdentifierMatch(indexed, query), Sort.unsorted(), rankedIds.size() + 3).stream()
+                .collect(Collectors.toMap(CustomerSummary::id, Function.identity()));
         
-        // Get all reviews for filtering by assignee
-        Map<String, ApplicationReview> reviewMap = reviewRepository.findAll().stream()
-                .collect(Collectors.toMap(ApplicationReview::getApplicationId, review -> review));
+        // Exact identifier matches the index doesn't know about yet rank first
+        Set<String> ranked = new HashSet<>(rankedIds);
+        List<CustomerSummary> results = new ArrayList<>(customers.size());
+        customers.values().stream()
+                .filter(customer -> !ranked.contains(customer.id()))
+                .forEach(results::add);
+        rankedIds.stream()
+                .map(customers::get)
+                .filter(Objects::nonNull)
+                .forEach(results::add);
+        return assembler.toDtos(results.subList(0, Math.min(limit, results.size())));
+    }
+    
+    @Transactional(value = "kycTransactionManager", readOnly = true)
+    public Page<KycApplicationDto> searchApplications(SearchRequest request, Pageable pageable) {
+        SearchPlan plan = plan(request);
+        if (plan == null) {
+            return Page.empty(pageable);
+        }
+        if (!plan.filtersReviews()) {
+            return assembler.toDtoPage(customerRepository.findSummaries(plan.spec(), pageable));
+        }
+        List<CustomerSummary> content = findReviewed(plan, plan.spec(), pageable.getSort(),
+                pageable.getOffset(), pageable.getPageSize());
+        return PageableExecutionUtils.getPage(assembler.toDtos(content), pageable, () -> countReviewed(plan));
+    }
+    
+    @Transactional(value = "kycTransactionManager", readOnly = true)
+    public CursorPage<KycApplicationDto> scrollApplications(SearchRequest request, String cursor, int size) {
+        SearchPlan plan = plan(request);
+        if (plan == null) {
+            return new CursorPage<>(List.of(), size, false, null);
+        }
+        Specification<Customer> spec = plan.spec().and(CustomerSpecifications.hasCreatedAt());
+        if (hasText(cursor)) {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            spec = spec.and(CustomerSpecifications.after(position.timestamp(), position.id()));
+        }
         
-        // Filter customers
-        List<Customer> filtered = allCustomers.stream()
-                .filter(customer -> matchesQuery(customer, request.getQuery()))
-                .filter(customer -> matchesStatus(customer, request.getStatus()))
-                .filter(customer -> matchesType(customer, request.getOnboardingType()))
-                .filter(customer -> matchesAssignee(customer, request.getAssignedTo(), reviewMap))
-                .collect(Collectors.toList());
+        // Fetch one extra row to find out whether another page exists
+        List<CustomerSummary> rows = plan.filtersReviews()
+                ? findReviewed(plan, spec, KEYSET_SORT, 0, size + 1)
+                : customerRepository.findSummaries(spec, KEYSET_SORT, size + 1);
+        boolean hasNext = rows.size() > size;
+        List<CustomerSummary> content = hasNext ? rows.subList(0, size) : rows;
         
-        int start = (int) pageable.getOffset();
-        int end = Math.min((start + pageable.getPageSize()), filtered.size());
+        String nextCursor = null;
+        if (hasNext) {
+            CustomerSummary last = content.get(content.size() - 1);
+            nextCursor = new KeysetCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPage<>(assembler.toDtos(content), size, hasNext, nextCursor);
+    }
+    
+    /**
+     * Translates the request filters into a KYC query. Review filters are
+     * folded into it as customer ids when they match at most
+     * {@code search.max-filter-ids} applications, and are otherwise kept in the
+     * plan to be checked against each chunk of KYC matches. Returns
+     * {@code null} when the filters can't match anything.
+     */
+    SearchPlan plan(SearchRequest request) {
+        Specification<Customer> spec = Specification.where(null);
         
-        List<KycApplicationDto> pageContent = filtered.subList(start, end).stream()
-                .map(customer -> customerToDto(customer, reviewMap.get(customer.getId())))
-                .collect(Collectors.toList());
+        if (hasText(request.getQuery())) {
+            spec = spec.and(queryFilter(request.getQuery()));
+        }
+        if (hasText(request.getStatus())) {
+            spec = spec.and(CustomerSpecifications.hasStatus(parseStatus(request.getStatus())));
+        }
+        if (hasText(request.getOnboardingType())) {
+            spec = spec.and(CustomerSpecifications.hasEntityType(parseEntityType(request.getOnboardingType())));
+        }
+        if (hasText(request.getDateFrom())) {
+            spec = spec.and(CustomerSpecifications.createdFrom(DateFilters.parse(request.getDateFrom(), false)));
+        }
+        if (hasText(request.getDateTo())) {
+            spec = spec.and(CustomerSpecifications.createdBefore(DateFilters.parse(request.getDateTo(), true)));
+        }
+        String assignedTo = hasText(request.getAssignedTo()) ? request.getAssignedTo() : null;
+        ApplicationStatus reviewStatus = hasText(request.getReviewStatus()) ? parseStatus(request.getReviewStatus()) : null;
+        if (assignedTo == null && reviewStatus == null) {
+            return new SearchPlan(spec, null, null);
+        }
         
-        return new PageImpl<>(pageContent, pageable, filtered.size());
+        // Reviews live in the admin database, so resolve them to customer ids first
+        List<String> reviewedIds = reviewRepository.findApplicationIdsAfter("", assignedTo, reviewStatus,
+                PageRequest.of(0, maxFilterIds + 1));
+        if (reviewedIds.isEmpty()) {
+            return null;
+        }
+        if (reviewedIds.size() <= maxFilterIds) {
+            return new SearchPlan(spec.and(CustomerSpecifications.idIn(reviewedIds)), null, null);
+        }
+        return new SearchPlan(spec, assignedTo, reviewStatus);
     }
     
-    private boolean matchesQuery(Customer customer, String query) {
-        if (query == null || query.trim().isEmpty()) {
-            return true;
+    /**
+     * Keeps the rows whose review matches the plan's review filters.
+     */
+    List<CustomerSummary> retainReviewed(SearchPlan plan, List<CustomerSummary> rows) {
+        if (!plan.filtersReviews() || rows.isEmpty()) {
+            return rows;
         }
-        String lowerQuery = query.toLowerCase();
-        return (customer.getFullName() != null && customer.getFullName().toLowerCase().contains(lowerQuery)) ||
-               (customer.getEmail() != null && customer.getEmail().toLowerCase().contains(lowerQuery)) ||
-               (customer.getMobileNumber() != null && customer.getMobileNumber().contains(query)) ||
-               (customer.getId() != null && customer.getId().toLowerCase().contains(lowerQuery));
+        Set<String> matching = new HashSet<>(reviewRepository.findMatchingApplicationIds(
+                rows.stream().map(CustomerSummary::id).toList(), plan.assignedTo(), plan.reviewStatus()));
+        return rows.stream().filter(row -> matching.contains(row.id())).toList();
     }
     
-    private boolean matchesStatus(Customer customer, String status) {
-        return status == null || status.trim().isEmpty() || customer.getApplicationStatus().equals(status);
+    /**
+     * Walks the KYC matches in order a chunk at a time, keeping those whose
+     * review matches, until {@code limit} rows after the first {@code offset}
+     * are found.
+     */
+    private List<CustomerSummary> findReviewed(SearchPlan plan, Specification<Customer> spec, Sort sort,
+            long offset, int limit) {
+        List<CustomerSummary> found = new ArrayList<>();
+        long skipped = 0;
+        try (Stream<CustomerSummary> rows = customerRepository.streamSummaries(spec, sort,
+                KycApplicationAssembler.REVIEW_BATCH_SIZE)) {
+            Iterator<CustomerSummary> iterator = rows.iterator();
+            List<CustomerSummary> chunk = new ArrayList<>(KycApplicationAssembler.REVIEW_BATCH_SIZE);
+            while (found.size() < limit && iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == KycApplicationAssembler.REVIEW_BATCH_SIZE || !iterator.hasNext()) {
+                    for (CustomerSummary row : retainReviewed(plan, chunk)) {
+                        if (skipped < offset) {
+                            skipped++;
+                        } else if (found.size() < limit) {
+                            found.add(row);
+                        }
+                    }
+                    chunk.clear();
+                }
+            }
+        }
+        return found;
     }
     
-    private boolean matchesType(Customer customer, String type) {
-        return type == null || type.trim().isEmpty() || customer.getEntityType().equals(type);
+    // Counts the KYC matches one chunk of reviewed ids at a time
+    private long countReviewed(SearchPlan plan) {
+        long total = 0;
+        String after = "";
+        List<String> ids;
+        do {
+            ids = reviewRepository.findApplicationIdsAfter(after, plan.assignedTo(), plan.reviewStatus(),
+                    PageRequest.of(0, maxFilterIds));
+            if (!ids.isEmpty()) {
+                total += customerRepository.count(plan.spec().and(CustomerSpecifications.idIn(ids)));
+                after = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == maxFilterIds);
+        return total;
     }
     
-    private boolean matchesAssignee(Customer customer, String assignee, Map<String, ApplicationReview> reviewMap) {
-        if (assignee == null || assignee.trim().isEmpty()) {
-            return true;
+    /**
+     * Resolves the free-text query through the search index when it narrows the
+     * result down enough, otherwise falls back to matching in SQL.
+     */
+    private Specification<Customer> queryFilter(String query) {
+        if (searchIndex.isReady()) {
+            ApplicantSearchIndex.SearchHits hits = searchIndex.search(query, maxIndexCandidates);
+            if (hits.total() <= maxIndexCandidates) {
+                return withIdentifierMatch(hits.ids().isEmpty()
+                        ? CustomerSpecifications.none()
+                        : CustomerSpecifications.idIn(hits.ids()), query);
+            }
         }
-        ApplicationReview review = reviewMap.get(customer.getId());
-        return review != null && review.getAssignedTo() != null && review.getAssignedTo().equals(assignee);
+        return CustomerSpecifications.matchesQuery(query);
     }
     
-    private KycApplicationDto customerToDto(Customer customer, ApplicationReview review) {
-        KycApplicationDto dto = new KycApplicationDto();
-        dto.setId(customer.getId());
-        dto.setUserId(customer.getUserId());
-        dto.setMobileNumber(customer.getMobileNumber());
-        dto.setEmail(customer.getEmail());
-        dto.setFullName(customer.getFullName());
-        dto.setApplicationStatus(customer.getApplicationStatus());
-        dto.setEntityType(customer.getEntityType());
-        dto.setCurrentStep(customer.getCurrentStep());
-        dto.setCompletionPercentage(customer.getCompletionPercentage());
-    
-        dto.setCreatedAt(customer.getCreatedAt());
-        dto.setUpdatedAt(customer.getUpdatedAt());
-        
-        // Add review data if exists
-        if (review != null) {
-            dto.setAssignedTo(review.getAssignedTo());
-            dto.setReviewNotes(review.getReviewNotes());
-            dto.setReviewedAt(review.getReviewedAt());
+    /**
+     * Adds an exact id, mobile or ID number match for single-term queries.
+     * Without the change feed the index sees edits to older applicants only on
+     * its next rebuild, so a changed mobile or ID number is still found right away.
+     */
+    private Specification<Customer> withIdentifierMatch(Specification<Customer> indexed, String query) {
+        String term = query.trim();
+        if (term.isEmpty() || term.chars().anyMatch(Character::isWhitespace)) {
+            return indexed;
+        }
+        return indexed.or(CustomerSpecifications.hasIdentifier(term));
+    }
+    
+    private ApplicationStatus parseStatus(String status) {
+        try {
+            return ApplicationStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid status: " + status);
+        }
+    }
+    
+    private EntityType parseEntityType(String type) {
+        try {
+            return EntityType.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Invalid onboarding type: " + type);
         }
+    }
+    
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+    
+    /**
+     * A search split between the two databases: the KYC query, and the review
+     * filters its matches must also pass, if they were too broad to fold into it.
+     */
+    record SearchPlan(Specification<Customer> spec, String assignedTo, ApplicationStatus reviewStatus) {
         
-        return dto;
+        boolean filtersReviews() {
+            return assignedTo != null || reviewStatus != null;
+        }
     }
 }
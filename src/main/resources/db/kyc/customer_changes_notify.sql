@@ -0,0 +1,48 @@
+-- Publishes customer inserts, deletes and changes to the columns the admin
+-- statistics and the applicant search index are keyed on, which also evict
+-- cached application details. Name changes in personal_info are published as
+-- well, with only the customer id.
+-- Needed only when statistics.feed.mode=notify. The transaction id lets the
+-- statistics tell whether a reload already counted the change (PostgreSQL 13+).
+
+CREATE OR REPLACE FUNCTION notify_customer_changes() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('customer_changes', json_build_object(
+        'id', CASE WHEN TG_OP = 'DELETE' THEN OLD.id ELSE NEW.id END,
+        'xid', pg_current_xact_id()::text::bigint,
+        'old', CASE WHEN TG_OP <> 'INSERT' THEN json_build_object(
+            'status', OLD.application_status,
+            'entityType', OLD.entity_type,
+            'createdAt', extract(epoch FROM OLD.created_at),
+            'currentStep', OLD.current_step) END,
+        'new', CASE WHEN TG_OP <> 'DELETE' THEN json_build_object(
+            'status', NEW.application_status,
+            'entityType', NEW.entity_type,
+            'createdAt', extract(epoch FROM NEW.created_at),
+            'currentStep', NEW.current_step) END
+    )::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS customers_notify_changes ON customers;
+
+CREATE TRIGGER customers_notify_changes
+    AFTER INSERT OR UPDATE OF application_status, entity_type, created_at, current_step,
+        username, mobile, id_number, personal_info_id OR DELETE ON customers
+    FOR EACH ROW EXECUTE FUNCTION notify_customer_changes();
+
+CREATE OR REPLACE FUNCTION notify_personal_info_changes() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('customer_changes', json_build_object('id', c.id)::text)
+    FROM customers c
+    WHERE c.personal_info_id = NEW.id;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS personal_info_notify_changes ON personal_info;
+
+CREATE TRIGGER personal_info_notify_changes
+    AFTER UPDATE OF first_name, second_name, last_name, family_name, full_name_ar ON personal_info
+    FOR EACH ROW EXECUTE FUNCTION notify_personal_info_changes();
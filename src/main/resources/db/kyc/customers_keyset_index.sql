@@ -0,0 +1,5 @@
+-- Backs keyset paging of application lists, searches and exports, which are
+-- ordered by (created_at, id) descending. Without it every scroll page sorts
+-- the whole matching set.
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_customers_created_at_id ON customers (created_at, id);